@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmarks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectLongMap;
+import org.eclipse.collections.companykata.CompanyAnalytics;
+import org.eclipse.collections.companykata.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the parallel reports of {@link CompanyAnalytics} on an executor of {@code threadCount} threads, next to
+ * the serial report, so the speedup can be read off one run. The customers are split into four tasks per thread.
+ * Run with {@code -p customerCount=100000} on a machine with at least as many cores as the largest thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsBenchmark
+{
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threadCount;
+
+    private ExecutorService executor;
+    private CompanyAnalytics analytics;
+
+    @Setup
+    public void setUp(CompanyState state)
+    {
+        this.executor = Executors.newFixedThreadPool(this.threadCount);
+        this.analytics = new CompanyAnalytics(state.company, this.executor, 1_000, this.threadCount * 4);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.executor.shutdownNow();
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> serialTotalOrderValuesByCity(CompanyState state)
+    {
+        return state.customers.sumByDouble(Customer::getCity, Customer::getTotalOrderValue);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> totalOrderValuesByCity()
+    {
+        return this.analytics.totalOrderValuesByCity();
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> totalOrderValuesByCustomer()
+    {
+        return this.analytics.totalOrderValuesByCustomer();
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> totalOrderValuesByItem()
+    {
+        return this.analytics.totalOrderValuesByItem();
+    }
+
+    @Benchmark
+    public ObjectLongMap<String> totalOrderValuesInCentsByItem()
+    {
+        return this.analytics.totalOrderValuesInCentsByItem();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmarks;
+
+import java.util.Random;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.eclipse.collections.companykata.Supplier;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A company with the number of customers given by the {@code customerCount} parameter, built from a fixed seed so
+ * that every run and fork sees the same data. Each customer has 1 to 5 orders of 1 to 20 line items, from 50 cities.
+ */
+@State(Scope.Benchmark)
+public class CompanyState
+{
+    static final int LOOKUP_COUNT = 1024;
+
+    private static final String[] ITEMS = {
+            "shed", "big shed", "huge shed", "cup", "saucer", "bowl", "dog", "cat", "goldfish", "gnome", "table",
+            "sofa", "chair", "kettle", "plasma screen", "sandwich toaster"};
+    private static final int CITY_COUNT = 50;
+
+    @Param({"100", "10000", "100000"})
+    public int customerCount;
+
+    Company company;
+    MutableList<Customer> customers;
+    Order[] orders;
+    String[] customerNames;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42L);
+        this.company = new Company("Benchmark Supplies");
+        for (int i = 0; i < ITEMS.length; i += 3)
+        {
+            String[] items = new String[Math.min(3, ITEMS.length - i)];
+            System.arraycopy(ITEMS, i, items, 0, items.length);
+            this.company.addSupplier(new Supplier("Supplier " + i, items));
+        }
+        for (int i = 0; i < this.customerCount; i++)
+        {
+            Customer customer = new Customer("Customer " + i, "City " + random.nextInt(CITY_COUNT));
+            int orderCount = 1 + random.nextInt(5);
+            for (int j = 0; j < orderCount; j++)
+            {
+                Order order = new Order();
+                int lineItemCount = 1 + random.nextInt(20);
+                for (int k = 0; k < lineItemCount; k++)
+                {
+                    order.addLineItem(new LineItem(ITEMS[random.nextInt(ITEMS.length)], 0.5 * random.nextInt(200)));
+                }
+                customer.addOrder(order);
+            }
+            this.company.addCustomer(customer);
+        }
+        this.customers = this.company.getCustomers();
+        this.orders = this.customers.flatCollect(Customer::getOrders).toArray(new Order[0]);
+        this.customerNames = new String[LOOKUP_COUNT];
+        for (int i = 0; i < LOOKUP_COUNT; i++)
+        {
+            // one in eight lookups misses
+            int index = random.nextInt(this.customerCount + this.customerCount / 7);
+            this.customerNames[i] = "Customer " + index;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the basic reads of the company domain. The benchmarks which visit every order or customer report the
+ * time for all of them, so the scores grow with {@link CompanyState#customerCount}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainBenchmark
+{
+    @Benchmark
+    public MutableList<Order> getOrders(CompanyState state)
+    {
+        return state.company.getOrders();
+    }
+
+    /**
+     * Iterates the orders of every customer through {@link org.eclipse.collections.companykata.Company#ordersView()}.
+     */
+    @Benchmark
+    public double sumOfOrdersView(CompanyState state)
+    {
+        return state.company.ordersView().sumOfDouble(Order::getValue);
+    }
+
+    @Benchmark
+    public double getValueOfEachOrder(CompanyState state)
+    {
+        double total = 0.0;
+        for (Order order : state.orders)
+        {
+            total += order.getValue();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double getTotalOrderValueOfEachCustomer(CompanyState state)
+    {
+        MutableList<Customer> customers = state.customers;
+        double total = 0.0;
+        for (int i = 0; i < customers.size(); i++)
+        {
+            total += customers.get(i).getTotalOrderValue();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double getTotalOrderValueOfCompany(CompanyState state)
+    {
+        return state.company.getTotalOrderValue();
+    }
+
+    /**
+     * Sums the line items of every order, which is what {@link Order#getValue()} did before it kept a running total.
+     */
+    @Benchmark
+    public double sumOfLineItemValues(CompanyState state)
+    {
+        double total = 0.0;
+        for (Order order : state.orders)
+        {
+            for (LineItem lineItem : order.getLineItems())
+            {
+                total += lineItem.getValue();
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CompanyState.LOOKUP_COUNT)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void getCustomerNamed(CompanyState state, Blackhole blackhole)
+    {
+        for (String name : state.customerNames)
+        {
+            blackhole.consume(state.company.getCustomerNamed(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CompanyState.LOOKUP_COUNT)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void detectCustomerNamed(CompanyState state, Blackhole blackhole)
+    {
+        for (String name : state.customerNames)
+        {
+            blackhole.consume(state.customers.detect(customer -> name.equals(customer.getName())));
+        }
+    }
+}
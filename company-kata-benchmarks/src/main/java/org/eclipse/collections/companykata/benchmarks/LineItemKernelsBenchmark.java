@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.CompanySnapshot;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the reductions over the prices of a columnar order run as loops with the same reductions run with the
+ * Vector API. Each vector benchmark forks a JVM with the jdk.incubator.vector module added, which switches the
+ * company-kata jar to its Vector API kernels when it was built with the java21 profile and runs on Java 21 or later.
+ * Otherwise both forks run the loops and should take the same time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class LineItemKernelsBenchmark
+{
+    private static final String[] ITEMS = {"shed", "cup", "saucer", "gnome", "sofa", "table", "chair"};
+
+    @Param({"1000", "100000"})
+    public int lineCount;
+
+    private Order order;
+    private CompanySnapshot snapshot;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        this.order = Order.columnar();
+        for (int i = 0; i < this.lineCount; i++)
+        {
+            this.order.addLineItem(ITEMS[random.nextInt(ITEMS.length)], random.nextInt(100_000) / 100.0, 1);
+        }
+        Company company = new Company("Benchmark Sheds");
+        Customer customer = new Customer("Fred", "London");
+        customer.addOrder(this.order);
+        company.addCustomer(customer);
+        this.snapshot = company.snapshot();
+    }
+
+    @Benchmark
+    @Fork(1)
+    public double sumScalar()
+    {
+        return this.snapshot.getValueOf(this.order);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public double sumVector()
+    {
+        return this.snapshot.getValueOf(this.order);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public double filterSumScalar()
+    {
+        return this.order.getValueOf("gnome");
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public double filterSumVector()
+    {
+        return this.order.getValueOf("gnome");
+    }
+
+    @Benchmark
+    @Fork(1)
+    public double maxScalar()
+    {
+        return this.order.getHighestPrice();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public double maxVector()
+    {
+        return this.order.getHighestPrice();
+    }
+
+    @Benchmark
+    @Fork(1)
+    public double minScalar()
+    {
+        return this.order.getLowestPrice();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public double minVector()
+    {
+        return this.order.getLowestPrice();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableDoubleList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.multimap.list.ListMultimap;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.eclipse.collections.companykata.Supplier;
+import org.eclipse.collections.impl.list.fixed.ArrayAdapter;
+import org.eclipse.collections.impl.list.mutable.ListAdapter;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the reports from Exercises 5 to 8, written the way the exercises solve them, next to the views the
+ * company keeps up to date for the same reports.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportsBenchmark
+{
+    // Exercise 5
+
+    @Benchmark
+    public MutableDoubleList orderValuesGreaterThan(CompanyState state)
+    {
+        return state.customers
+                .flatCollect(Customer::getOrders)
+                .collectDouble(Order::getValue)
+                .select(value -> value > 100.0);
+    }
+
+    // Exercise 6
+
+    @Benchmark
+    public MutableDoubleList sortedTotalOrderValues(CompanyState state)
+    {
+        return state.customers.collectDouble(Customer::getTotalOrderValue).sortThis();
+    }
+
+    @Benchmark
+    public Customer customerWithMaxTotalOrderValue(CompanyState state)
+    {
+        return state.customers.maxBy(Customer::getTotalOrderValue);
+    }
+
+    @Benchmark
+    public MutableList<Customer> sortedTopCustomersByValue(CompanyState state)
+    {
+        return state.customers.toSortedListBy(Customer::getTotalOrderValue).asReversed().take(100).toList();
+    }
+
+    @Benchmark
+    public MutableList<Customer> topCustomersByValue(CompanyState state)
+    {
+        return state.company.topCustomersByValue(100);
+    }
+
+    // Exercise 7
+
+    @Benchmark
+    public ListMultimap<String, Customer> groupCustomersByCity(CompanyState state)
+    {
+        return state.customers.groupBy(Customer::getCity);
+    }
+
+    @Benchmark
+    public ListMultimap<String, Customer> indexedCustomersByCity(CompanyState state)
+    {
+        return state.company.getCustomersByCity();
+    }
+
+    @Benchmark
+    public ListMultimap<String, Supplier> groupSuppliersByItemName(CompanyState state)
+    {
+        return ArrayIterate.groupByEach(
+                state.company.getSuppliers(),
+                supplier -> ArrayAdapter.adapt(supplier.getItemNames()));
+    }
+
+    @Benchmark
+    public ListMultimap<String, Supplier> indexedSuppliersByItemName(CompanyState state)
+    {
+        return state.company.getSuppliersByItemName();
+    }
+
+    // Exercise 8
+
+    @Benchmark
+    public MutableMap<String, Double> aggregateTotalOrderValuesByCity(CompanyState state)
+    {
+        return state.customers.aggregateBy(
+                Customer::getCity,
+                () -> 0.0,
+                (result, customer) -> result + customer.getTotalOrderValue());
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> sumTotalOrderValuesByCity(CompanyState state)
+    {
+        return state.customers.sumByDouble(Customer::getCity, Customer::getTotalOrderValue);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> viewOfTotalOrderValuesByCity(CompanyState state)
+    {
+        return state.company.getTotalOrderValuesByCity();
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> sumTotalOrderValuesByItem(CompanyState state)
+    {
+        return state.customers
+                .flatCollect(Customer::getOrders)
+                .flatCollect(Order::getLineItems)
+                .sumByDouble(LineItem::getName, LineItem::getValue);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> viewOfTotalOrderValuesByItem(CompanyState state)
+    {
+        return state.company.getTotalOrderValuesByItem();
+    }
+
+    @Benchmark
+    public MutableSortedBag<Double> sortedLineItemValues(CompanyState state)
+    {
+        return state.customers
+                .flatCollect(Customer::getOrders)
+                .flatCollect(Order::getLineItems)
+                .collect(LineItem::getValue)
+                .select(value -> value > 7.5)
+                .toSortedBag(Collections.reverseOrder());
+    }
+
+    @Benchmark
+    public MutableList<Customer> whoOrderedSaucers(CompanyState state)
+    {
+        return state.customers.select(customer -> ListAdapter.adapt(customer.getOrders())
+                .anySatisfy(order -> ListAdapter.adapt(order.getLineItems())
+                        .anySatisfy(lineItem -> "saucer".equals(lineItem.getName()))));
+    }
+
+    @Benchmark
+    public ListMultimap<Double, Customer> customersByMostExpensiveItem(CompanyState state)
+    {
+        return state.customers.groupBy(customer -> ListAdapter.adapt(customer.getOrders())
+                .flatCollect(Order::getLineItems)
+                .collectDouble(LineItem::getValue)
+                .max());
+    }
+}
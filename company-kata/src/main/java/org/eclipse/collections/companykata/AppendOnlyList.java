@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * A list which can only grow. Appends must be serialized by the caller, but reads need no locking: the elements and
+ * the size are published through volatile fields, so a reader can copy a prefix while another thread appends.
+ */
+final class AppendOnlyList<T> extends AbstractList<T> implements RandomAccess
+{
+    private static final Object[] EMPTY = {};
+
+    private volatile Object[] elements = EMPTY;
+    private volatile int size;
+
+    @Override
+    public boolean add(T element)
+    {
+        int n = this.size;
+        Object[] current = this.elements;
+        if (n == current.length)
+        {
+            current = Arrays.copyOf(current, Math.max(4, n + (n >> 1)));
+            this.elements = current;
+        }
+        current[n] = element;
+        this.size = n + 1;
+        return true;
+    }
+
+    /**
+     * Replaces the last element. Like appends, this must be serialized by the caller.
+     */
+    void replaceLast(T element)
+    {
+        Object[] current = this.elements;
+        current[this.size - 1] = element;
+        this.elements = current;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index)
+    {
+        int n = this.size;
+        if (index < 0 || index >= n)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + n);
+        }
+        return (T) this.elements[index];
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns an immutable copy of the first elements, up to the count given.
+     */
+    @SuppressWarnings("unchecked")
+    ImmutableList<T> toImmutableList(int count)
+    {
+        return Lists.immutable.with((T[]) Arrays.copyOf(this.elements, count));
+    }
+}
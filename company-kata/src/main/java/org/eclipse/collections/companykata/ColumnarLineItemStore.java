@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.eclipse.collections.api.block.procedure.primitive.IntDoubleProcedure;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.primitive.MutableIntDoubleMap;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * Keeps {@link LineItem}s as columns: {@link ItemCatalog} ids in an int array, prices in a double array and
+ * quantities in an int array. The quantity column is only allocated once a row has a quantity other than 1, so
+ * orders of single items pay nothing for it. No LineItem objects are retained, so {@link #asList(Order)} hands out
+ * copies of the rows which write changes back through their {@link Order}. The columns are published through volatile
+ * fields, so that the first rows can be read while another thread adds rows. Sums, minimums and maximums are run by
+ * {@link LineItemKernels}, which use the Vector API where it is available.
+ */
+class ColumnarLineItemStore implements LineItemStore
+{
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private volatile int[] itemIds = new int[DEFAULT_CAPACITY];
+    private volatile double[] prices = new double[DEFAULT_CAPACITY];
+    // null while every quantity is 1
+    private volatile int[] quantities;
+    private volatile int size;
+
+    /**
+     * Makes room for the rows given, growing all columns together. The quantity column is published before the
+     * others, so a reader never sees a price column longer than it.
+     */
+    private void ensureCapacity(int capacity)
+    {
+        int length = this.prices.length;
+        if (capacity > length)
+        {
+            int newCapacity = Math.max(capacity, length << 1);
+            int[] qtys = this.quantities;
+            if (qtys != null)
+            {
+                this.quantities = Arrays.copyOf(qtys, newCapacity);
+            }
+            this.itemIds = Arrays.copyOf(this.itemIds, newCapacity);
+            this.prices = Arrays.copyOf(this.prices, newCapacity);
+        }
+    }
+
+    private int[] quantities()
+    {
+        int[] qtys = this.quantities;
+        if (qtys == null)
+        {
+            qtys = new int[this.prices.length];
+            Arrays.fill(qtys, 1);
+            this.quantities = qtys;
+        }
+        return qtys;
+    }
+
+    private static double valueOf(double[] prices, int[] quantities, int row)
+    {
+        return quantities == null ? prices[row] : prices[row] * quantities[row];
+    }
+
+    @Override
+    public void add(LineItem lineItem)
+    {
+        int n = this.size;
+        this.ensureCapacity(n + 1);
+        if (lineItem.getQuantity() != 1)
+        {
+            this.quantities()[n] = lineItem.getQuantity();
+        }
+        else if (this.quantities != null)
+        {
+            this.quantities[n] = 1;
+        }
+        this.itemIds[n] = lineItem.getItemId();
+        this.prices[n] = lineItem.getPrice();
+        this.size = n + 1;
+    }
+
+    @Override
+    public boolean mergeIntoLast(int itemId, double price, int quantity)
+    {
+        int last = this.size - 1;
+        if (last < 0 || this.itemIds[last] != itemId || Double.compare(this.prices[last], price) != 0)
+        {
+            return false;
+        }
+        this.quantities()[last] += quantity;
+        return true;
+    }
+
+    @Override
+    public void addAll(Order owner, int[] itemIds, double[] prices, int[] quantities, int count)
+    {
+        int n = this.size;
+        this.ensureCapacity(n + count);
+        if (quantities != null)
+        {
+            System.arraycopy(quantities, 0, this.quantities(), n, count);
+        }
+        else if (this.quantities != null)
+        {
+            Arrays.fill(this.quantities, n, n + count, 1);
+        }
+        System.arraycopy(itemIds, 0, this.itemIds, n, count);
+        System.arraycopy(prices, 0, this.prices, n, count);
+        this.size = n + count;
+    }
+
+    @Override
+    public boolean update(int oldItemId, LineItem lineItem)
+    {
+        int n = this.size;
+        int[] ids = this.itemIds;
+        double[] prcs = this.prices;
+        int[] qtys = this.quantities;
+        // rows with the same item, price and quantity are interchangeable, so the first match is the one to update
+        for (int i = 0; i < n; i++)
+        {
+            if (ids[i] == oldItemId
+                    && Double.compare(prcs[i], lineItem.getPrice()) == 0
+                    && (qtys == null ? 1 : qtys[i]) == lineItem.getQuantity())
+            {
+                ids[i] = lineItem.getItemId();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public List<LineItem> asList(Order owner)
+    {
+        return new LineItemView(owner);
+    }
+
+    @Override
+    public double sumOfValues()
+    {
+        return this.sumOfFirstValues(this.size);
+    }
+
+    @Override
+    public double sumOfFirstValues(int count)
+    {
+        double[] prcs = this.prices;
+        int[] qtys = this.quantities;
+        return qtys == null ? LineItemKernels.sum(prcs, count) : LineItemKernels.sumOfProducts(prcs, qtys, count);
+    }
+
+    @Override
+    public ImmutableList<LineItem> toImmutableList(Order owner, int count)
+    {
+        LineItem[] rows = new LineItem[count];
+        for (int i = 0; i < count; i++)
+        {
+            rows[i] = this.lineItemAt(owner, i);
+        }
+        return Lists.immutable.with(rows);
+    }
+
+    private LineItem lineItemAt(Order owner, int row)
+    {
+        int[] ids = this.itemIds;
+        double[] prcs = this.prices;
+        int[] qtys = this.quantities;
+        LineItem lineItem = new LineItem(ids[row], prcs[row], qtys == null ? 1 : qtys[row]);
+        lineItem.setOrder(owner);
+        return lineItem;
+    }
+
+    @Override
+    public double sumOfValues(int itemId)
+    {
+        int n = this.size;
+        int[] ids = this.itemIds;
+        double[] prcs = this.prices;
+        int[] qtys = this.quantities;
+        return LineItemKernels.sumWhere(ids, itemId, prcs, qtys, n);
+    }
+
+    @Override
+    public double minPrice()
+    {
+        int n = this.size;
+        return LineItemKernels.min(this.prices, n);
+    }
+
+    @Override
+    public double maxPrice()
+    {
+        int n = this.size;
+        return LineItemKernels.max(this.prices, n);
+    }
+
+    @Override
+    public boolean containsItem(int itemId)
+    {
+        int n = this.size;
+        int[] ids = this.itemIds;
+        for (int i = 0; i < n; i++)
+        {
+            if (ids[i] == itemId)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void sumOfValuesByItemId(MutableIntDoubleMap target)
+    {
+        this.forEach(target::addToValue);
+    }
+
+    @Override
+    public void forEach(IntDoubleProcedure procedure)
+    {
+        this.forEachOfFirst(this.size, procedure);
+    }
+
+    @Override
+    public void forEachOfFirst(int count, IntDoubleProcedure procedure)
+    {
+        int[] ids = this.itemIds;
+        double[] prcs = this.prices;
+        int[] qtys = this.quantities;
+        for (int i = 0; i < count; i++)
+        {
+            procedure.value(ids[i], ColumnarLineItemStore.valueOf(prcs, qtys, i));
+        }
+    }
+
+    @Override
+    public void forEachLineOfFirst(int count, LineProcedure procedure)
+    {
+        int[] ids = this.itemIds;
+        double[] prcs = this.prices;
+        int[] qtys = this.quantities;
+        for (int i = 0; i < count; i++)
+        {
+            procedure.value(ids[i], prcs[i], qtys == null ? 1 : qtys[i]);
+        }
+    }
+
+    private final class LineItemView extends AbstractList<LineItem> implements RandomAccess
+    {
+        private final Order owner;
+
+        private LineItemView(Order owner)
+        {
+            this.owner = owner;
+        }
+
+        @Override
+        public LineItem get(int index)
+        {
+            int n = ColumnarLineItemStore.this.size;
+            if (index < 0 || index >= n)
+            {
+                throw new IndexOutOfBoundsException("Index: " + index + " Size: " + n);
+            }
+            return ColumnarLineItemStore.this.lineItemAt(this.owner, index);
+        }
+
+        @Override
+        public int size()
+        {
+            return ColumnarLineItemStore.this.size;
+        }
+    }
+}
@@ -10,26 +10,113 @@
 
 package org.eclipse.collections.companykata;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.collections.api.LazyIterable;
 import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
-import org.eclipse.collections.impl.list.mutable.FastList;
-import org.junit.Assert;
+import org.eclipse.collections.api.map.primitive.IntDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.multimap.list.ListMultimap;
+import org.eclipse.collections.impl.block.factory.Predicates;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.utility.LazyIterate;
 
 /**
  * A company has a {@link MutableList} of {@link Customer}s.  It has an array of {@link Supplier}s, and a name.
+ * Customers are also indexed by name and by city as they are added, and the total order values by city and by item
+ * are kept up to date as customers, orders and line items are added.
+ * <p/>
+ * A company created with {@link #concurrent(String)} can have customers, orders and line items added from many
+ * threads at once, while other threads read it.
+ * <p/>
+ * Each addition of a customer, order, line item or supplier increases the modification version of the company, which
+ * {@link CompanyReportCache} uses to tell whether a cached report is still current.
  */
 public class Company
 {
     private final String name;
-    private final MutableList<Customer> customers = FastList.newList();
+    private final CustomerRegistry customers;
+
+    private final OrderValueViews orderValueViews;
+    private final VersionClock versionClock;
+
+    private final SupplierRegistry suppliers = new SupplierRegistry();
 
-    // Suppliers are array based. Refactor to a MutableList<Supplier>
-    private Supplier[] suppliers = new Supplier[0];
+    private final OrdersView orders = new OrdersView(this);
+    private final LongAdder orderCount = new LongAdder();
+    private final AtomicLong modificationVersion = new AtomicLong();
+
+    private volatile TopCustomersTracker[] topCustomersTrackers = new TopCustomersTracker[0];
 
     public Company(String name)
+    {
+        this(name, new CustomerRegistry(), new SerialOrderValueViews(), new VersionClock(1));
+    }
+
+    private Company(
+            String name,
+            CustomerRegistry customers,
+            OrderValueViews orderValueViews,
+            VersionClock versionClock)
     {
         this.name = name;
+        this.customers = customers;
+        this.orderValueViews = orderValueViews;
+        this.versionClock = versionClock;
+    }
+
+    /**
+     * Creates a company which many threads can add customers, orders and line items to at once. Customers are kept in
+     * a {@link org.eclipse.collections.api.list.MultiReaderList}, so {@link #getCustomers()} must be iterated with
+     * internal iterators such as {@link MutableList#forEach}, and the total order values are kept in stripes which
+     * writers to different customers rarely share. The city lookups and the total order value views return copies.
+     * Orders and line items can be read safely during ingestion with {@link #forEachCustomer(Procedure)} and
+     * {@link Customer#forEachOrder(Procedure)}.
+     */
+    public static Company concurrent(String name)
+    {
+        int stripeCount = Runtime.getRuntime().availableProcessors() * 4;
+        return new Company(
+                name,
+                new ConcurrentCustomerRegistry(),
+                new StripedOrderValueViews(stripeCount),
+                new VersionClock(stripeCount));
+    }
+
+    /**
+     * Returns a consistent, read-only view of the customers, orders and line items added so far. Taking a snapshot
+     * only waits for the appends in progress to complete; reading it never blocks writers, and later appends are not
+     * seen by it.
+     *
+     * @see CompanySnapshot
+     */
+    public CompanySnapshot snapshot()
+    {
+        return new CompanySnapshot(this, this.versionClock.advance());
+    }
+
+    /**
+     * Returns the version to tag an append to this company with, see {@link VersionClock}.
+     */
+    long beginWrite()
+    {
+        return this.versionClock.beginWrite();
+    }
+
+    void endWrite()
+    {
+        this.versionClock.endWrite();
+    }
+
+    ImmutableList<Customer> getCustomersAt(long version)
+    {
+        return this.customers.getCustomersAt(version);
     }
 
     public String getName()
@@ -39,64 +126,321 @@ public class Company
 
     public void addCustomer(Customer aCustomer)
     {
-        this.customers.add(aCustomer);
+        synchronized (aCustomer)
+        {
+            long version = this.versionClock.beginWrite();
+            try
+            {
+                this.customers.add(aCustomer, version);
+                aCustomer.setCompany(this);
+                this.orderValueViews.customerAdded(aCustomer);
+                this.orderCount.add(aCustomer.getOrders().size());
+                this.valueIncreased(aCustomer);
+                this.modified();
+            }
+            finally
+            {
+                this.versionClock.endWrite();
+            }
+        }
+    }
+
+    void orderAdded(Customer customer, Order order)
+    {
+        this.orderValueViews.orderAdded(customer, order);
+        this.orderCount.increment();
+        this.valueChanged(customer, order.getValue());
+        this.modified();
+    }
+
+    void lineItemAdded(Customer customer, int itemId, double value, boolean merged, boolean fixedPoint)
+    {
+        this.orderValueViews.lineItemAdded(customer, itemId, value, merged, fixedPoint);
+        this.valueChanged(customer, value);
+        this.modified();
+    }
+
+    void lineItemChanged(
+            Customer customer,
+            int oldItemId,
+            double oldValue,
+            int newItemId,
+            double newValue,
+            boolean fixedPoint)
+    {
+        this.orderValueViews.lineItemChanged(customer, oldItemId, oldValue, newItemId, newValue, fixedPoint);
+        this.valueChanged(customer, newValue - oldValue);
+        this.modified();
+    }
+
+    /**
+     * Called once a change is in place, so that a report read at the previous version is never taken as current.
+     */
+    private void modified()
+    {
+        this.modificationVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns a number which increases each time a customer, order, line item or supplier is added to this company or
+     * a line item of it is renamed. Delivering orders does not change it.
+     */
+    public long getModificationVersion()
+    {
+        return this.modificationVersion.get();
+    }
+
+    private void valueChanged(Customer customer, double change)
+    {
+        if (change >= 0.0)
+        {
+            this.valueIncreased(customer);
+        }
+        else
+        {
+            TopCustomersTracker[] trackers = this.topCustomersTrackers;
+            for (int i = 0; i < trackers.length; i++)
+            {
+                trackers[i].valueChanged(customer);
+            }
+        }
+    }
+
+    private void valueIncreased(Customer customer)
+    {
+        TopCustomersTracker[] trackers = this.topCustomersTrackers;
+        for (int i = 0; i < trackers.length; i++)
+        {
+            trackers[i].valueIncreased(customer);
+        }
     }
 
     public MutableList<Customer> getCustomers()
     {
-        return this.customers;
+        return this.customers.getCustomers();
+    }
+
+    /**
+     * Calls the procedure with each customer, which is safe while other threads add customers.
+     */
+    public void forEachCustomer(Procedure<? super Customer> procedure)
+    {
+        this.customers.getCustomers().forEach(procedure);
+    }
+
+    /**
+     * Returns the customers grouped by city, in the order they were added.
+     */
+    public ListMultimap<String, Customer> getCustomersByCity()
+    {
+        return this.customers.getCustomersByCity();
+    }
+
+    /**
+     * Returns an unmodifiable view of the customers from the city given.
+     */
+    public MutableList<Customer> getCustomersInCity(String city)
+    {
+        return this.customers.getCustomersInCity(city);
+    }
+
+    public int countCustomersInCity(String city)
+    {
+        return this.customers.countCustomersInCity(city);
+    }
+
+    public boolean anyCustomerInCity(String city)
+    {
+        return this.customers.anyCustomerInCity(city);
     }
 
     /**
-     * Remove the Assert.fail() and simplify getOrders().
+     * Returns a new list of the orders of all customers. Use {@link #ordersView()} to iterate the orders without
+     * copying them.
      *
      * @see org.eclipse.collections.api.RichIterable#flatCollect(Function)
      */
     public MutableList<Order> getOrders()
     {
-        Assert.fail("Refactor this code to use Eclipse Collections as part of Exercise 3");
-        MutableList<Order> orders = FastList.newList();
-        for (Customer customer : this.customers)
+        return this.orders.toList();
+    }
+
+    /**
+     * Returns a lazy view of the orders of all customers, which flattens the customers' orders as it is iterated rather
+     * than copying them, so chained calls such as {@code select} and {@code sumOfDouble} visit each order once without
+     * building a list. Its size is a count of the orders kept as they are added. While other threads add orders, the
+     * size and an iteration may each see a different number of them.
+     */
+    public LazyIterable<Order> ordersView()
+    {
+        return this.orders;
+    }
+
+    /**
+     * Returns the number of orders of the customers of this company, not counting orders added directly to
+     * {@link Customer#getOrders()}.
+     */
+    int getOrderCount()
+    {
+        return this.orderCount.intValue();
+    }
+
+    /**
+     * Sums the total order values of all customers with an indexed loop over primitives, so no iterator or boxed
+     * value is allocated. The values of fixed-point orders are summed in cents, so their part of the total is exact.
+     */
+    public double getTotalOrderValue()
+    {
+        MutableList<Customer> customers = this.customers.getCustomers();
+        double total = 0.0;
+        long totalInCents = 0L;
+        for (int i = 0; i < customers.size(); i++)
         {
-            orders.addAll(customer.getOrders());
+            Customer customer = customers.get(i);
+            total += customer.getFloatingPointTotal();
+            totalInCents += customer.getFixedPointTotalInCents();
         }
-        return orders;
+        return total + Money.toDouble(totalInCents);
     }
 
-    public Customer getMostRecentCustomer()
+    /**
+     * Returns the k customers with the highest total order values, from the highest to the lowest, without sorting all
+     * customers. Large companies are scanned in parallel, each task keeping a heap of k customers, which takes
+     * O(n log k) time. Customers with equal values may come in any order.
+     */
+    public MutableList<Customer> topCustomersByValue(int k)
     {
-        return this.customers.getLast();
+        return TopCustomers.byValue(this.customers.getCustomers(), k).toSortedList();
     }
 
     /**
-     * Simplify after refactoring to use a MutableList&lt;Supplier&gt;.
-     * @param supplier
+     * Returns a tracker which keeps the k customers with the highest total order values up to date as customers, orders
+     * and line items are added to this company, so reading the top k does not scan all customers again.
      */
-    public void addSupplier(Supplier supplier)
+    public TopCustomersTracker trackTopCustomersByValue(int k)
     {
-        // need to replace the current array of suppliers with another, larger array
-        // Of course, normally one would not use an array.
+        TopCustomersTracker tracker = new TopCustomersTracker(this, k);
+        synchronized (this)
+        {
+            TopCustomersTracker[] trackers = this.topCustomersTrackers;
+            TopCustomersTracker[] newTrackers = Arrays.copyOf(trackers, trackers.length + 1);
+            newTrackers[trackers.length] = tracker;
+            this.topCustomersTrackers = newTrackers;
+        }
+        return tracker;
+    }
+
+    /**
+     * Returns a query over the customers and orders of this company, which looks customers up in the indexes of this
+     * company where it can, see {@link CompanyQuery}.
+     */
+    public CompanyQuery query()
+    {
+        return new CompanyQuery(this);
+    }
+
+    /**
+     * Returns a read-only view of the total order values by city. The view is kept up to date as orders and line
+     * items are added, so reading it does not scan any line items.
+     */
+    public ObjectDoubleMap<String> getTotalOrderValuesByCity()
+    {
+        return this.orderValueViews.getTotalOrderValuesByCity();
+    }
 
-        Supplier[] currentSuppliers = this.suppliers;
-        this.suppliers = new Supplier[currentSuppliers.length + 1];
-        System.arraycopy(currentSuppliers, 0, this.suppliers, 0, currentSuppliers.length);
-        this.suppliers[this.suppliers.length - 1] = supplier;
+    /**
+     * Returns the total order values by item name, built from {@link #getTotalOrderValuesByItemId()} in time
+     * proportional to the number of items.
+     */
+    public ObjectDoubleMap<String> getTotalOrderValuesByItem()
+    {
+        return this.orderValueViews.getTotalOrderValuesByItem();
+    }
+
+    /**
+     * Returns a read-only view of the total order values by {@link ItemCatalog} id.
+     */
+    public IntDoubleMap getTotalOrderValuesByItemId()
+    {
+        return this.orderValueViews.getTotalOrderValuesByItemId();
+    }
+
+    /**
+     * Returns whether any customer of this company has ordered the item with the {@link ItemCatalog} id given, without
+     * building the totals by item.
+     */
+    boolean isItemOrdered(int itemId)
+    {
+        return this.orderValueViews.containsItem(itemId);
+    }
+
+    /**
+     * Delivers all orders of the customers in the city given, in parallel, and returns the number of orders which had
+     * not been delivered before.
+     */
+    public int deliverOrdersTo(String city)
+    {
+        return OrderDelivery.deliver(this.customers.getCustomersInCity(city), Predicates.alwaysTrue());
+    }
+
+    /**
+     * Delivers all orders which satisfy the predicate, in parallel, and returns the number of orders which had not been
+     * delivered before. The predicate may be called from several threads at once.
+     */
+    public int deliverOrders(Predicate<? super Order> predicate)
+    {
+        return OrderDelivery.deliver(this.customers.getCustomers(), predicate);
+    }
+
+    public Customer getMostRecentCustomer()
+    {
+        return this.customers.getCustomers().getLast();
+    }
+
+    public void addSupplier(Supplier supplier)
+    {
+        this.suppliers.add(supplier);
+        this.modified();
     }
 
     public Supplier[] getSuppliers()
     {
-        return this.suppliers;
+        return this.suppliers.toArray();
+    }
+
+    /**
+     * Returns an unmodifiable view of the suppliers of the item given.
+     */
+    public MutableList<Supplier> getSuppliersOf(String itemName)
+    {
+        int itemId = ItemCatalog.getInstance().indexOf(itemName);
+        return itemId == -1 ? Lists.mutable.empty() : this.suppliers.getSuppliersOf(itemId);
+    }
+
+    /**
+     * Returns a new multimap from item name to the suppliers of that item.
+     */
+    public ListMultimap<String, Supplier> getSuppliersByItemName()
+    {
+        return this.suppliers.getSuppliersByItemName();
     }
 
     /**
-     * Remove the Assert.fail() and replace the null with an appropriate implementation.
-     * Use a {@link Predicate} to find a {@link Customer} with the name given.
+     * Looks up the first {@link Customer} added with the name given, or null if there is none. Customers added
+     * directly to {@link #getCustomers()} are not indexed.
      *
-     * @see org.eclipse.collections.api.RichIterable#flatCollect(Function)
+     * @see org.eclipse.collections.api.RichIterable#detect(Predicate)
      */
     public Customer getCustomerNamed(String name)
     {
-        Assert.fail("Implement this method as part of Exercise 2");
-        return null;
+        return this.customers.getCustomerNamed(name);
+    }
+
+    /**
+     * Looks up the customers with the names given in a single pass, skipping names without a customer.
+     */
+    public MutableList<Customer> getCustomersNamed(Iterable<String> names)
+    {
+        return LazyIterate.collect(names, this.customers::getCustomerNamed).select(Predicates.notNull()).toList();
     }
 }
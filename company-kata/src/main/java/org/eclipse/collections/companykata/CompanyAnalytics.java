@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.map.primitive.MutableIntDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableIntLongMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectLongMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntLongHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+import org.eclipse.collections.impl.parallel.AbstractProcedureCombiner;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+
+/**
+ * Runs the order value reports of a {@link Company} in parallel over its customers using
+ * {@link ParallelIterate} on the {@link ExecutorService} given. Each task sums into its own primitive map and the
+ * partial maps are merged once all tasks are done.
+ * <p/>
+ * The results are the same as the serial reports, for example
+ * {@code company.getCustomers().sumByDouble(Customer::getCity, Customer::getTotalOrderValue)}, apart from the
+ * rounding differences that come from adding doubles in a different order. The reports in cents add up longs
+ * instead, so they come out exactly the same however the customers are split between tasks; they are exact sums of
+ * the line items of {@link Order#fixedPoint()} orders, and of other orders rounded to the nearest cent.
+ */
+public class CompanyAnalytics
+{
+    private static final int DEFAULT_MIN_FORK_SIZE = 10_000;
+
+    private final Company company;
+    private final ExecutorService executor;
+    private final int minForkSize;
+    private final int taskCount;
+
+    public CompanyAnalytics(Company company, ExecutorService executor)
+    {
+        this(company, executor, DEFAULT_MIN_FORK_SIZE, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * @param minForkSize the number of customers below which a report runs on the calling thread
+     * @param taskCount the number of tasks the customers are split into
+     */
+    public CompanyAnalytics(Company company, ExecutorService executor, int minForkSize, int taskCount)
+    {
+        this.company = company;
+        this.executor = executor;
+        this.minForkSize = minForkSize;
+        this.taskCount = taskCount;
+    }
+
+    public ObjectDoubleMap<String> totalOrderValuesByCity()
+    {
+        return this.sumOfTotalOrderValuesBy(Customer::getCity);
+    }
+
+    public ObjectDoubleMap<String> totalOrderValuesByCustomer()
+    {
+        return this.sumOfTotalOrderValuesBy(Customer::getName);
+    }
+
+    public ObjectDoubleMap<String> totalOrderValuesByItem()
+    {
+        MutableIntDoubleMap valuesByItemId = this.sum(
+                IntDoubleHashMap::new,
+                (customer, partial) -> customer.forEachOrder(order -> order.sumOfValuesByItemId(partial)),
+                (result, partial) -> partial.forEachKeyValue(result::addToValue));
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        MutableObjectDoubleMap<String> valuesByItem = ObjectDoubleHashMap.newMap();
+        valuesByItemId.forEachKeyValue((itemId, value) -> valuesByItem.put(catalog.getName(itemId), value));
+        return valuesByItem;
+    }
+
+    /**
+     * Sums the values of the orders in cents by the city of their customer.
+     */
+    public ObjectLongMap<String> totalOrderValuesInCentsByCity()
+    {
+        return this.<MutableObjectLongMap<String>>sum(
+                ObjectLongHashMap::newMap,
+                (customer, partial) -> partial.addToValue(customer.getCity(), customer.getTotalOrderValueInCents()),
+                (result, partial) -> partial.forEachKeyValue(result::addToValue));
+    }
+
+    /**
+     * Sums the values of the line items in cents by item name.
+     */
+    public ObjectLongMap<String> totalOrderValuesInCentsByItem()
+    {
+        MutableIntLongMap centsByItemId = this.sum(
+                IntLongHashMap::new,
+                (customer, partial) -> customer.forEachOrder(order -> order.sumOfCentsByItemId(partial)),
+                (result, partial) -> partial.forEachKeyValue(result::addToValue));
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        MutableObjectLongMap<String> centsByItem = ObjectLongHashMap.newMap();
+        centsByItemId.forEachKeyValue((itemId, cents) -> centsByItem.put(catalog.getName(itemId), cents));
+        return centsByItem;
+    }
+
+    private ObjectDoubleMap<String> sumOfTotalOrderValuesBy(Function<Customer, String> groupBy)
+    {
+        return this.<MutableObjectDoubleMap<String>>sum(
+                ObjectDoubleHashMap::newMap,
+                (customer, partial) -> partial.addToValue(groupBy.valueOf(customer), customer.getTotalOrderValue()),
+                (result, partial) -> partial.forEachKeyValue(result::addToValue));
+    }
+
+    /**
+     * Adds each customer into a partial map of its task, then adds the partial maps into one result.
+     *
+     * @param newMap creates the partial maps and the result
+     * @param addCustomer adds the values of a customer into a partial map
+     * @param addPartial adds a partial map into the result
+     */
+    private <M> M sum(Function0<M> newMap, Procedure2<Customer, M> addCustomer, Procedure2<M, M> addPartial)
+    {
+        SumCombiner<M> combiner = new SumCombiner<>(newMap.value(), addPartial);
+        ParallelIterate.forEach(
+                this.company.getCustomers(),
+                () -> new SumProcedure<>(newMap.value(), addCustomer),
+                combiner,
+                this.minForkSize,
+                this.taskCount,
+                this.executor);
+        return combiner.result;
+    }
+
+    private static final class SumProcedure<M> implements Procedure<Customer>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final M partial;
+        private final Procedure2<Customer, M> addCustomer;
+
+        private SumProcedure(M partial, Procedure2<Customer, M> addCustomer)
+        {
+            this.partial = partial;
+            this.addCustomer = addCustomer;
+        }
+
+        @Override
+        public void value(Customer customer)
+        {
+            this.addCustomer.value(customer, this.partial);
+        }
+    }
+
+    private static final class SumCombiner<M> extends AbstractProcedureCombiner<SumProcedure<M>>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final M result;
+        private final Procedure2<M, M> addPartial;
+
+        private SumCombiner(M result, Procedure2<M, M> addPartial)
+        {
+            super(false);
+            this.result = result;
+            this.addPartial = addPartial;
+        }
+
+        @Override
+        public void combineAll(Iterable<SumProcedure<M>> procedures)
+        {
+            for (SumProcedure<M> procedure : procedures)
+            {
+                this.combineOne(procedure);
+            }
+        }
+
+        @Override
+        public void combineOne(SumProcedure<M> procedure)
+        {
+            this.addPartial.value(this.result, procedure.partial);
+        }
+    }
+}
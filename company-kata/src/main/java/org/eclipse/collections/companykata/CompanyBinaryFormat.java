@@ -0,0 +1,550 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+/**
+ * Writes a {@link Company} with its {@link Supplier}s, {@link Customer}s, {@link Order}s and {@link LineItem}s to a
+ * compact binary file through a {@link FileChannel}, and reads it back. All names, cities and item names are written
+ * once, in a dictionary, and referred to by index. The line items of each order are written as a block of item
+ * indexes followed by a block of prices and, if any line has a quantity other than 1, a block of quantities, which the
+ * reader copies straight into the order.
+ * <p/>
+ * The layout, in little-endian order, is: a header, the string dictionary, the index of the company name, the
+ * suppliers with the indexes of their items, and then each customer with its orders. Orders keep whether they are
+ * columnar or fixed-point and whether they have been delivered, but are given new order numbers when read.
+ */
+public final class CompanyBinaryFormat
+{
+    private static final int MAGIC = 0x4B43_4345;
+    private static final int FORMAT_VERSION = 2;
+    private static final int FIRST_FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte COLUMNAR = 1;
+    private static final byte DELIVERED = 2;
+    private static final byte HAS_QUANTITIES = 4;
+    private static final byte FIXED_POINT = 8;
+
+    private CompanyBinaryFormat()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Writes a snapshot of the company, so other threads can keep adding to it meanwhile.
+     */
+    public static void write(Company company, Path path) throws IOException
+    {
+        CompanyBinaryFormat.write(company.snapshot(), path);
+    }
+
+    public static void write(CompanySnapshot snapshot, Path path) throws IOException
+    {
+        Company company = snapshot.getCompany();
+        ImmutableList<Customer> customers = snapshot.getCustomers();
+        Supplier[] suppliers = company.getSuppliers();
+
+        Dictionary dictionary = new Dictionary();
+        dictionary.indexOf(company.getName());
+        for (Supplier supplier : suppliers)
+        {
+            dictionary.indexOf(supplier.getName());
+            supplier.getItemIds().forEach(dictionary::indexOfItem);
+        }
+        for (int i = 0; i < customers.size(); i++)
+        {
+            Customer customer = customers.get(i);
+            dictionary.indexOf(customer.getName());
+            dictionary.indexOf(customer.getCity());
+            ImmutableList<Order> orders = snapshot.getOrdersOf(customer);
+            for (int j = 0; j < orders.size(); j++)
+            {
+                orders.get(j).forEachLineAt(snapshot.getVersion(), (itemId, price, quantity) ->
+                        dictionary.indexOfItem(itemId));
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            Output output = new Output(channel);
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            dictionary.writeTo(output);
+            output.writeInt(dictionary.indexOf(company.getName()));
+
+            output.writeInt(suppliers.length);
+            for (Supplier supplier : suppliers)
+            {
+                ImmutableIntList itemIds = supplier.getItemIds();
+                output.writeInt(dictionary.indexOf(supplier.getName()));
+                output.writeInt(itemIds.size());
+                for (int i = 0; i < itemIds.size(); i++)
+                {
+                    output.writeInt(dictionary.indexOfItem(itemIds.get(i)));
+                }
+            }
+
+            LineBlock block = new LineBlock();
+            output.writeInt(customers.size());
+            for (int i = 0; i < customers.size(); i++)
+            {
+                Customer customer = customers.get(i);
+                ImmutableList<Order> orders = snapshot.getOrdersOf(customer);
+                output.writeInt(dictionary.indexOf(customer.getName()));
+                output.writeInt(dictionary.indexOf(customer.getCity()));
+                output.writeInt(orders.size());
+                for (int j = 0; j < orders.size(); j++)
+                {
+                    Order order = orders.get(j);
+                    block.clear();
+                    order.forEachLineAt(snapshot.getVersion(), (itemId, price, quantity) ->
+                            block.add(dictionary.indexOfItem(itemId), price, quantity));
+                    output.writeByte(CompanyBinaryFormat.flagsOf(order, block));
+                    output.writeInt(block.size);
+                    output.writeInts(block.itemIds, block.size);
+                    output.writeDoubles(block.prices, block.size);
+                    if (block.hasQuantities)
+                    {
+                        output.writeInts(block.quantities, block.size);
+                    }
+                }
+            }
+            output.flush();
+        }
+    }
+
+    private static Order newOrder(byte flags)
+    {
+        if ((flags & FIXED_POINT) != 0)
+        {
+            return Order.fixedPoint();
+        }
+        return (flags & COLUMNAR) != 0 ? Order.columnar() : new Order();
+    }
+
+    private static byte flagsOf(Order order, LineBlock block)
+    {
+        byte flags = 0;
+        if (order.isColumnar())
+        {
+            flags |= COLUMNAR;
+        }
+        if (order.isDelivered())
+        {
+            flags |= DELIVERED;
+        }
+        if (block.hasQuantities)
+        {
+            flags |= HAS_QUANTITIES;
+        }
+        if (order.isFixedPoint())
+        {
+            flags |= FIXED_POINT;
+        }
+        return flags;
+    }
+
+    /**
+     * Reads a company back from a file written by {@link #write(Company, Path)}. A file which is not a company file, is
+     * truncated or has counts, indexes or values that do not fit throws an {@link IOException}.
+     */
+    public static Company read(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            Input input = new Input(channel);
+            if (input.readInt() != MAGIC)
+            {
+                throw new IOException(path + " is not a company file");
+            }
+            int formatVersion = input.readInt();
+            if (formatVersion < FIRST_FORMAT_VERSION || formatVersion > FORMAT_VERSION)
+            {
+                throw new IOException("Unsupported company file version " + formatVersion + " in " + path);
+            }
+            try
+            {
+                return CompanyBinaryFormat.readCompany(input);
+            }
+            catch (BufferUnderflowException | IllegalArgumentException e)
+            {
+                throw new IOException("Corrupt company file " + path, e);
+            }
+        }
+    }
+
+    private static Company readCompany(Input input) throws IOException
+    {
+        String[] strings = new String[input.readCount(Integer.BYTES)];
+        for (int i = 0; i < strings.length; i++)
+        {
+            strings[i] = input.readString();
+        }
+        int[] itemIdsByIndex = new int[strings.length];
+        ItemCatalog catalog = ItemCatalog.getInstance();
+
+        Company company = new Company(strings[input.readIndex(strings.length)]);
+
+        int supplierCount = input.readCount(2 * Integer.BYTES);
+        for (int i = 0; i < supplierCount; i++)
+        {
+            String name = strings[input.readIndex(strings.length)];
+            String[] itemNames = new String[input.readCount(Integer.BYTES)];
+            for (int j = 0; j < itemNames.length; j++)
+            {
+                itemNames[j] = strings[input.readIndex(strings.length)];
+            }
+            company.addSupplier(new Supplier(name, itemNames));
+        }
+
+        LineBlock block = new LineBlock();
+        int customerCount = input.readCount(3 * Integer.BYTES);
+        for (int i = 0; i < customerCount; i++)
+        {
+            Customer customer = new Customer(
+                    strings[input.readIndex(strings.length)],
+                    strings[input.readIndex(strings.length)]);
+            int orderCount = input.readCount(Byte.BYTES + Integer.BYTES);
+            for (int j = 0; j < orderCount; j++)
+            {
+                byte flags = input.readByte();
+                int lineCount = input.readCount(Integer.BYTES + Double.BYTES);
+                block.ensureCapacity(lineCount);
+                input.readInts(block.itemIds, lineCount);
+                input.readDoubles(block.prices, lineCount);
+                boolean hasQuantities = (flags & HAS_QUANTITIES) != 0;
+                if (hasQuantities)
+                {
+                    input.readInts(block.quantities, lineCount);
+                }
+                for (int k = 0; k < lineCount; k++)
+                {
+                    int index = block.itemIds[k];
+                    if (index < 0 || index >= strings.length)
+                    {
+                        throw new IOException("Invalid string index " + index + " in company file");
+                    }
+                    if (hasQuantities && block.quantities[k] <= 0)
+                    {
+                        throw new IOException("Invalid quantity " + block.quantities[k] + " in company file");
+                    }
+                    if (itemIdsByIndex[index] == 0)
+                    {
+                        // catalog ids are stored plus one, so that 0 means not looked up yet
+                        itemIdsByIndex[index] = catalog.getId(strings[index]) + 1;
+                    }
+                    block.itemIds[k] = itemIdsByIndex[index] - 1;
+                }
+
+                Order order = CompanyBinaryFormat.newOrder(flags);
+                order.addLineItems(block.itemIds, block.prices, hasQuantities ? block.quantities : null, lineCount);
+                if ((flags & DELIVERED) != 0)
+                {
+                    order.deliver();
+                }
+                customer.addOrder(order);
+            }
+            company.addCustomer(customer);
+        }
+        return company;
+    }
+
+    /**
+     * Numbers the strings in the order they are first seen. Items are looked up by {@link ItemCatalog} id first, so
+     * that each item name is hashed only once.
+     */
+    private static final class Dictionary
+    {
+        private final MutableObjectIntMap<String> indexes = ObjectIntHashMap.newMap();
+        private final MutableList<String> strings = FastList.newList();
+        private final MutableIntIntMap indexesByItemId = new IntIntHashMap();
+
+        private int indexOf(String string)
+        {
+            return this.indexes.getIfAbsentPut(string, () ->
+            {
+                this.strings.add(string);
+                return this.strings.size() - 1;
+            });
+        }
+
+        private int indexOfItem(int itemId)
+        {
+            return this.indexesByItemId.getIfAbsentPut(
+                    itemId,
+                    () -> this.indexOf(ItemCatalog.getInstance().getName(itemId)));
+        }
+
+        private void writeTo(Output output) throws IOException
+        {
+            output.writeInt(this.strings.size());
+            for (int i = 0; i < this.strings.size(); i++)
+            {
+                output.writeString(this.strings.get(i));
+            }
+        }
+    }
+
+    /**
+     * The item indexes and values of the line items of one order.
+     */
+    private static final class LineBlock
+    {
+        private int[] itemIds = new int[16];
+        private double[] prices = new double[16];
+        private int[] quantities = new int[16];
+        private int size;
+        private boolean hasQuantities;
+
+        private void clear()
+        {
+            this.size = 0;
+            this.hasQuantities = false;
+        }
+
+        private void add(int itemId, double price, int quantity)
+        {
+            this.ensureCapacity(this.size + 1);
+            this.itemIds[this.size] = itemId;
+            this.prices[this.size] = price;
+            this.quantities[this.size] = quantity;
+            this.hasQuantities |= quantity != 1;
+            this.size++;
+        }
+
+        private void ensureCapacity(int capacity)
+        {
+            if (capacity > this.itemIds.length)
+            {
+                int newCapacity = Math.max(capacity, this.itemIds.length << 1);
+                this.itemIds = Arrays.copyOf(this.itemIds, newCapacity);
+                this.prices = Arrays.copyOf(this.prices, newCapacity);
+                this.quantities = Arrays.copyOf(this.quantities, newCapacity);
+            }
+        }
+    }
+
+    private static final class Output
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private Output(FileChannel channel)
+        {
+            this.channel = channel;
+        }
+
+        private void ensureRemaining(int bytes) throws IOException
+        {
+            if (this.buffer.remaining() < bytes)
+            {
+                this.flush();
+            }
+        }
+
+        private void flush() throws IOException
+        {
+            ((Buffer) this.buffer).flip();
+            while (this.buffer.hasRemaining())
+            {
+                this.channel.write(this.buffer);
+            }
+            ((Buffer) this.buffer).clear();
+        }
+
+        private void writeByte(byte value) throws IOException
+        {
+            this.ensureRemaining(Byte.BYTES);
+            this.buffer.put(value);
+        }
+
+        private void writeInt(int value) throws IOException
+        {
+            this.ensureRemaining(Integer.BYTES);
+            this.buffer.putInt(value);
+        }
+
+        private void writeString(String value) throws IOException
+        {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.writeInt(bytes.length);
+            int written = 0;
+            while (written < bytes.length)
+            {
+                this.ensureRemaining(1);
+                int length = Math.min(bytes.length - written, this.buffer.remaining());
+                this.buffer.put(bytes, written, length);
+                written += length;
+            }
+        }
+
+        private void writeInts(int[] values, int count) throws IOException
+        {
+            int written = 0;
+            while (written < count)
+            {
+                this.ensureRemaining(Integer.BYTES);
+                int length = Math.min(count - written, this.buffer.remaining() / Integer.BYTES);
+                this.buffer.asIntBuffer().put(values, written, length);
+                ((Buffer) this.buffer).position(this.buffer.position() + length * Integer.BYTES);
+                written += length;
+            }
+        }
+
+        private void writeDoubles(double[] values, int count) throws IOException
+        {
+            int written = 0;
+            while (written < count)
+            {
+                this.ensureRemaining(Double.BYTES);
+                int length = Math.min(count - written, this.buffer.remaining() / Double.BYTES);
+                this.buffer.asDoubleBuffer().put(values, written, length);
+                ((Buffer) this.buffer).position(this.buffer.position() + length * Double.BYTES);
+                written += length;
+            }
+        }
+    }
+
+    private static final class Input
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private Input(FileChannel channel)
+        {
+            this.channel = channel;
+            ((Buffer) this.buffer).limit(0);
+        }
+
+        /**
+         * Makes at least the number of bytes given available in the buffer, which holds at least 8 bytes.
+         */
+        private void require(int bytes) throws IOException
+        {
+            if (this.buffer.remaining() >= bytes)
+            {
+                return;
+            }
+            this.buffer.compact();
+            while (this.buffer.position() < bytes)
+            {
+                if (this.channel.read(this.buffer) < 0)
+                {
+                    throw new IOException("Unexpected end of company file");
+                }
+            }
+            ((Buffer) this.buffer).flip();
+        }
+
+        private byte readByte() throws IOException
+        {
+            this.require(Byte.BYTES);
+            return this.buffer.get();
+        }
+
+        private int readInt() throws IOException
+        {
+            this.require(Integer.BYTES);
+            return this.buffer.getInt();
+        }
+
+        /**
+         * Reads a count of elements of at least the size given, which must fit in the rest of the file.
+         */
+        private int readCount(int minimumElementSize) throws IOException
+        {
+            int count = this.readInt();
+            long remaining = this.channel.size() - this.channel.position() + this.buffer.remaining();
+            if (count < 0 || (long) count * minimumElementSize > remaining)
+            {
+                throw new IOException("Invalid count " + count + " in company file");
+            }
+            return count;
+        }
+
+        /**
+         * Reads an index into an array of the size given.
+         */
+        private int readIndex(int size) throws IOException
+        {
+            int index = this.readInt();
+            if (index < 0 || index >= size)
+            {
+                throw new IOException("Invalid string index " + index + " in company file");
+            }
+            return index;
+        }
+
+        private String readString() throws IOException
+        {
+            byte[] bytes = new byte[this.readCount(Byte.BYTES)];
+            int read = 0;
+            while (read < bytes.length)
+            {
+                this.require(1);
+                int length = Math.min(bytes.length - read, this.buffer.remaining());
+                this.buffer.get(bytes, read, length);
+                read += length;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void readInts(int[] values, int count) throws IOException
+        {
+            int read = 0;
+            while (read < count)
+            {
+                this.require(Integer.BYTES);
+                int length = Math.min(count - read, this.buffer.remaining() / Integer.BYTES);
+                this.buffer.asIntBuffer().get(values, read, length);
+                ((Buffer) this.buffer).position(this.buffer.position() + length * Integer.BYTES);
+                read += length;
+            }
+        }
+
+        private void readDoubles(double[] values, int count) throws IOException
+        {
+            int read = 0;
+            while (read < count)
+            {
+                this.require(Double.BYTES);
+                int length = Math.min(count - read, this.buffer.remaining() / Double.BYTES);
+                this.buffer.asDoubleBuffer().get(values, read, length);
+                ((Buffer) this.buffer).position(this.buffer.position() + length * Double.BYTES);
+                read += length;
+            }
+        }
+    }
+}
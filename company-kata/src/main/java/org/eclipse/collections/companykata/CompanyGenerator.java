@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+
+/**
+ * Generates companies of any size for load tests and benchmarks. The same seed and sizes always give the same
+ * customers, cities, orders and line items, whatever the number of threads used, apart from the order numbers.
+ * <p/>
+ * Customers are generated in parallel in chunks, each from its own random generator derived from the seed and the
+ * chunk, into {@link Order#columnar()} orders, and then added to the company in order. Every customer has the same
+ * number of orders and every order the same number of line items. Cities and items are drawn from Zipf distributions,
+ * so that a few cities and items are much more common than the rest, and each item always has the same price.
+ */
+public final class CompanyGenerator
+{
+    private static final int CHUNK_SIZE = 1024;
+    private static final String[] KATA_ITEMS = {
+            "shed", "big shed", "huge shed", "cup", "saucer", "bowl", "dog", "cat", "goldfish", "gnome", "table",
+            "sofa", "chair", "kettle", "plasma screen", "sandwich toaster"};
+
+    private final long seed;
+    private final int customerCount;
+    private final int ordersPerCustomer;
+    private final int lineItemsPerOrder;
+    private final String[] cities;
+    private final ZipfSampler citySampler;
+    private final String[] itemNames;
+    private final int[] itemIds;
+    private final double[] itemPrices;
+    private final ZipfSampler itemSampler;
+
+    public CompanyGenerator(long seed, int customerCount, int ordersPerCustomer, int lineItemsPerOrder)
+    {
+        this(seed, customerCount, ordersPerCustomer, lineItemsPerOrder, 100, 1000, 1.0);
+    }
+
+    /**
+     * @param cityCount the number of different cities
+     * @param itemCount the number of different items, the first of which are the items of the kata
+     * @param skew the exponent of the Zipf distributions of cities and items, 0.0 for uniform distributions
+     */
+    public CompanyGenerator(
+            long seed,
+            int customerCount,
+            int ordersPerCustomer,
+            int lineItemsPerOrder,
+            int cityCount,
+            int itemCount,
+            double skew)
+    {
+        if (customerCount < 0 || ordersPerCustomer < 0 || lineItemsPerOrder < 0 || cityCount < 1 || itemCount < 1)
+        {
+            throw new IllegalArgumentException("Invalid company size");
+        }
+        this.seed = seed;
+        this.customerCount = customerCount;
+        this.ordersPerCustomer = ordersPerCustomer;
+        this.lineItemsPerOrder = lineItemsPerOrder;
+        this.cities = new String[cityCount];
+        for (int i = 0; i < cityCount; i++)
+        {
+            this.cities[i] = "City " + i;
+        }
+        this.citySampler = new ZipfSampler(cityCount, skew);
+        this.itemNames = new String[itemCount];
+        this.itemIds = new int[itemCount];
+        this.itemPrices = new double[itemCount];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < itemCount; i++)
+        {
+            this.itemNames[i] = i < KATA_ITEMS.length ? KATA_ITEMS[i] : "item " + i;
+            this.itemIds[i] = ItemCatalog.getInstance().getId(this.itemNames[i]);
+            // prices in whole cents from 0.50 to about 500, most of them low
+            double price = 0.5 * Math.pow(1000.0, random.nextDouble() * random.nextDouble());
+            this.itemPrices[i] = Math.round(price * 100.0) / 100.0;
+        }
+        this.itemSampler = new ZipfSampler(itemCount, skew);
+    }
+
+    /**
+     * Returns a new company with the customers and a supplier for every eight items.
+     */
+    public Company generate()
+    {
+        Company company = new Company("Generated Supplies " + this.seed);
+        this.addTo(company);
+        return company;
+    }
+
+    /**
+     * Adds the suppliers and customers to the company given, which may be a {@link Company#concurrent(String)} one.
+     */
+    public void addTo(Company company)
+    {
+        for (int i = 0; i < this.itemNames.length; i += 8)
+        {
+            String[] supplied = Arrays.copyOfRange(this.itemNames, i, Math.min(i + 8, this.itemNames.length));
+            company.addSupplier(new Supplier("Supplier " + (i >>> 3), supplied));
+        }
+        Customer[] customers = this.generateCustomers();
+        for (Customer customer : customers)
+        {
+            company.addCustomer(customer);
+        }
+    }
+
+    /**
+     * Returns the customers of the company, with their orders, without adding them to a company.
+     */
+    public Customer[] generateCustomers()
+    {
+        Customer[] customers = new Customer[this.customerCount];
+        int chunkCount = (this.customerCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunkCount > 0)
+        {
+            ParallelIterate.forEach(
+                    Interval.zeroTo(chunkCount - 1),
+                    chunk -> this.generateChunk(chunk, customers),
+                    1,
+                    Math.min(chunkCount, ParallelIterate.getDefaultTaskCount()));
+        }
+        return customers;
+    }
+
+    private void generateChunk(int chunk, Customer[] customers)
+    {
+        SplittableRandom random = new SplittableRandom(this.seed + chunk * 0x9E3779B97F4A7C15L);
+        int[] itemIds = new int[this.lineItemsPerOrder];
+        double[] values = new double[this.lineItemsPerOrder];
+        int end = Math.min(customers.length, (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++)
+        {
+            Customer customer = new Customer("Customer " + i, this.cities[this.citySampler.sample(random)]);
+            for (int j = 0; j < this.ordersPerCustomer; j++)
+            {
+                for (int k = 0; k < this.lineItemsPerOrder; k++)
+                {
+                    int item = this.itemSampler.sample(random);
+                    itemIds[k] = this.itemIds[item];
+                    values[k] = this.itemPrices[item];
+                }
+                Order order = Order.columnar();
+                order.addLineItems(itemIds, values, this.lineItemsPerOrder);
+                customer.addOrder(order);
+            }
+            customers[i] = customer;
+        }
+    }
+
+    /**
+     * Draws indexes from 0 to n - 1 with probabilities proportional to 1 / (index + 1)^skew, by a binary search of the
+     * cumulative probabilities.
+     */
+    private static final class ZipfSampler
+    {
+        private final double[] cumulative;
+
+        private ZipfSampler(int n, double skew)
+        {
+            this.cumulative = new double[n];
+            double total = 0.0;
+            for (int i = 0; i < n; i++)
+            {
+                total += 1.0 / Math.pow(i + 1, skew);
+                this.cumulative[i] = total;
+            }
+            for (int i = 0; i < n; i++)
+            {
+                this.cumulative[i] /= total;
+            }
+        }
+
+        private int sample(SplittableRandom random)
+        {
+            int index = Arrays.binarySearch(this.cumulative, random.nextDouble());
+            return Math.min(index < 0 ? -index - 1 : index, this.cumulative.length - 1);
+        }
+    }
+}
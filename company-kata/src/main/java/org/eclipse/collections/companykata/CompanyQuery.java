@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.lazy.AbstractLazyIterable;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.impl.utility.LazyIterate;
+import org.eclipse.collections.impl.utility.ListIterate;
+
+/**
+ * Finds the customers or orders of a {@link Company} from a city, with a name, which ordered an item, or whose value
+ * is in a range, without the caller choosing how. Each condition narrows the query, and the query itself is
+ * immutable.
+ * <p/>
+ * The results are lazy: the customers are looked up each time the result is iterated. A name is looked up in the name
+ * index and a city in the city index, so like {@link Company#getCustomerNamed(String)} and
+ * {@link Company#getCustomersInCity(String)} they only find customers added with {@link Company#addCustomer(Customer)},
+ * and a name finds the first customer added with it. An item nobody has ordered is answered from the totals by item
+ * without visiting any customer. Other queries scan all customers, in parallel once there are at least 10,000 of them,
+ * keeping the order the customers were added in.
+ * <p/>
+ * As with {@link Company#getCustomers()}, the results of a scan of a concurrent company must be iterated with internal
+ * iterators such as {@link LazyIterable#forEach}.
+ */
+public final class CompanyQuery
+{
+    private static final int PARALLEL_SCAN_SIZE = 10_000;
+    private static final int ANY_ITEM = -1;
+    private static final int UNORDERED_ITEM = -2;
+
+    private final Company company;
+    private final String city;
+    private final String customerName;
+    private final String itemName;
+    private final double minValue;
+    private final double maxValue;
+
+    CompanyQuery(Company company)
+    {
+        this(company, null, null, null, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    private CompanyQuery(
+            Company company,
+            String city,
+            String customerName,
+            String itemName,
+            double minValue,
+            double maxValue)
+    {
+        this.company = company;
+        this.city = city;
+        this.customerName = customerName;
+        this.itemName = itemName;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+    }
+
+    public CompanyQuery inCity(String city)
+    {
+        return new CompanyQuery(this.company, city, this.customerName, this.itemName, this.minValue, this.maxValue);
+    }
+
+    public CompanyQuery named(String customerName)
+    {
+        return new CompanyQuery(this.company, this.city, customerName, this.itemName, this.minValue, this.maxValue);
+    }
+
+    /**
+     * Keeps the customers with an order for the item, or the orders with a line item for it.
+     */
+    public CompanyQuery ordering(String itemName)
+    {
+        return new CompanyQuery(this.company, this.city, this.customerName, itemName, this.minValue, this.maxValue);
+    }
+
+    /**
+     * Keeps the customers whose total order value, or the orders whose value, is from min to max inclusive.
+     */
+    public CompanyQuery valueBetween(double min, double max)
+    {
+        return new CompanyQuery(this.company, this.city, this.customerName, this.itemName, min, max);
+    }
+
+    /**
+     * Returns the customers which meet all conditions, in the order they were added.
+     */
+    public LazyIterable<Customer> customers()
+    {
+        return new QueryResult<>(this::findCustomers);
+    }
+
+    /**
+     * Returns the orders of the customers from the city and with the name given which have a line item for the item
+     * and a value in the range given, customer by customer in the order they were added.
+     */
+    public LazyIterable<Order> orders()
+    {
+        return new QueryResult<>(this::findOrders);
+    }
+
+    private Iterable<Customer> findCustomers()
+    {
+        int itemId = this.itemId();
+        if (itemId == UNORDERED_ITEM)
+        {
+            return Lists.immutable.empty();
+        }
+        Iterable<Customer> candidates = this.candidates();
+        if (candidates == null)
+        {
+            MutableList<Customer> customers = this.company.getCustomers();
+            if (customers.size() >= PARALLEL_SCAN_SIZE)
+            {
+                return ParallelIterate.select(customers, customer -> this.matches(customer, itemId));
+            }
+            candidates = customers;
+        }
+        return LazyIterate.select(candidates, customer -> this.matches(customer, itemId));
+    }
+
+    private Iterable<Order> findOrders()
+    {
+        int itemId = this.itemId();
+        if (itemId == UNORDERED_ITEM)
+        {
+            return Lists.immutable.empty();
+        }
+        Iterable<Customer> candidates = this.candidates();
+        if (candidates == null)
+        {
+            MutableList<Customer> customers = this.company.getCustomers();
+            if (customers.size() >= PARALLEL_SCAN_SIZE)
+            {
+                return ParallelIterate.flatCollect(
+                        customers,
+                        customer -> ListIterate.select(customer.getOrders(), order -> this.matches(order, itemId)));
+            }
+            candidates = customers;
+        }
+        return LazyIterate.select(candidates, this::isInCityWithName)
+                .flatCollect(Customer::getOrders)
+                .select(order -> this.matches(order, itemId));
+    }
+
+    /**
+     * Returns the {@link ItemCatalog} id of the item, {@link #ANY_ITEM} if there is no item condition, or
+     * {@link #UNORDERED_ITEM} if nobody has ordered the item.
+     */
+    private int itemId()
+    {
+        if (this.itemName == null)
+        {
+            return ANY_ITEM;
+        }
+        int itemId = ItemCatalog.getInstance().indexOf(this.itemName);
+        if (itemId == -1 || !this.company.isItemOrdered(itemId))
+        {
+            return UNORDERED_ITEM;
+        }
+        return itemId;
+    }
+
+    /**
+     * Returns the customers an index narrows the query to, or null if all customers have to be scanned.
+     */
+    private Iterable<Customer> candidates()
+    {
+        if (this.customerName != null)
+        {
+            Customer customer = this.company.getCustomerNamed(this.customerName);
+            return customer == null ? Lists.immutable.empty() : Lists.immutable.with(customer);
+        }
+        if (this.city != null)
+        {
+            return this.company.getCustomersInCity(this.city);
+        }
+        return null;
+    }
+
+    private boolean matches(Customer customer, int itemId)
+    {
+        return this.isInCityWithName(customer)
+                && this.isInRange(customer.getTotalOrderValue())
+                && (itemId == ANY_ITEM || CompanyQuery.hasOrdered(customer, itemId));
+    }
+
+    private boolean matches(Order order, int itemId)
+    {
+        return this.isInRange(order.getValue())
+                && (itemId == ANY_ITEM || order.containsItem(itemId));
+    }
+
+    private boolean isInCityWithName(Customer customer)
+    {
+        return (this.city == null || this.city.equals(customer.getCity()))
+                && (this.customerName == null || this.customerName.equals(customer.getName()));
+    }
+
+    private boolean isInRange(double value)
+    {
+        return value >= this.minValue && value <= this.maxValue;
+    }
+
+    private static boolean hasOrdered(Customer customer, int itemId)
+    {
+        List<Order> orders = customer.getOrders();
+        for (int i = 0; i < orders.size(); i++)
+        {
+            if (orders.get(i).containsItem(itemId))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A lazy result which runs the query again each time it is iterated.
+     */
+    private static final class QueryResult<T> extends AbstractLazyIterable<T>
+    {
+        private final Function0<Iterable<T>> query;
+
+        private QueryResult(Function0<Iterable<T>> query)
+        {
+            this.query = query;
+        }
+
+        @Override
+        public void each(Procedure<? super T> procedure)
+        {
+            Iterate.forEach(this.query.value(), procedure);
+        }
+
+        @Override
+        public Iterator<T> iterator()
+        {
+            return this.query.value().iterator();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.collections.api.block.function.Function;
+
+/**
+ * Keeps the results of reports on a {@link Company}, such as the supplier names joined with tildes or the total order
+ * values by city, so asking again before the company changes does not run the report again. Each result is stored
+ * with the {@link Company#getModificationVersion()} read before it was computed, and is only returned while the
+ * company is still at that version. At most maximumSize results are kept, evicting the least recently used first.
+ * <p/>
+ * A report should return a value which does not change afterwards, such as a copy or an immutable collection, rather
+ * than a view of the company. Reports run on the calling thread without holding any lock, so two threads missing the
+ * same key at once may both run it.
+ * <p/>
+ * Results are cached under a {@link Key}, which also carries the type of the result, so a report of a generic type
+ * such as {@code ObjectDoubleMap<String>} is returned without a cast at the call site.
+ */
+public final class CompanyReportCache
+{
+    private final Company company;
+    private final Map<Key<?>, CachedReport> entries;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public CompanyReportCache(Company company, int maximumSize)
+    {
+        if (maximumSize < 1)
+        {
+            throw new IllegalArgumentException("Invalid maximum size " + maximumSize);
+        }
+        this.company = company;
+        this.entries = new LinkedHashMap<Key<?>, CachedReport>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key<?>, CachedReport> eldest)
+            {
+                if (this.size() > maximumSize)
+                {
+                    CompanyReportCache.this.evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the result of the report cached under the key given if the company has not changed since it was
+     * computed, or runs the report and caches its result otherwise.
+     */
+    public <V> V get(Key<V> key, Function<? super Company, ? extends V> report)
+    {
+        long version = this.company.getModificationVersion();
+        synchronized (this)
+        {
+            CachedReport cached = this.entries.get(key);
+            if (cached != null && cached.version == version)
+            {
+                this.hitCount++;
+                return key.cast(cached.value);
+            }
+            this.missCount++;
+        }
+        V value = report.valueOf(this.company);
+        synchronized (this)
+        {
+            CachedReport cached = this.entries.get(key);
+            if (cached == null || cached.version <= version)
+            {
+                this.entries.put(key, new CachedReport(version, value));
+            }
+        }
+        return value;
+    }
+
+    public synchronized int size()
+    {
+        return this.entries.size();
+    }
+
+    public synchronized void clear()
+    {
+        this.entries.clear();
+    }
+
+    public synchronized long getHitCount()
+    {
+        return this.hitCount;
+    }
+
+    public synchronized long getMissCount()
+    {
+        return this.missCount;
+    }
+
+    /**
+     * Returns the number of results removed to keep the cache within its maximum size.
+     */
+    public synchronized long getEvictionCount()
+    {
+        return this.evictionCount;
+    }
+
+    /**
+     * Returns the hits as a fraction of all lookups, or 0.0 if there have been none.
+     */
+    public synchronized double getHitRate()
+    {
+        long lookups = this.hitCount + this.missCount;
+        return lookups == 0L ? 0.0 : (double) this.hitCount / lookups;
+    }
+
+    /**
+     * Names a report and the type of its results. Keys are compared by identity, so each report is cached under its
+     * own key, which is usually held in a constant, and only results of the key's type are ever stored under it.
+     */
+    public static final class Key<V>
+    {
+        private final String name;
+
+        public Key(String name)
+        {
+            this.name = name;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V cast(Object value)
+        {
+            // only the get method with this key stores values under it, and those are of type V
+            return (V) value;
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.name;
+        }
+    }
+
+    private static final class CachedReport
+    {
+        private final long version;
+        private final Object value;
+
+        private CachedReport(long version, Object value)
+        {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
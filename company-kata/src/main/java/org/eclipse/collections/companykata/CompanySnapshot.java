@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.mutable.FastList;
+
+/**
+ * A consistent view of the customers, orders and line items of a {@link Company} as of one version, taken with
+ * {@link Company#snapshot()}. Customers, orders and line items are only ever appended, so taking a snapshot copies
+ * nothing: each list records how long it was at the end of each version, and the snapshot copies the prefix for its
+ * version into an {@link ImmutableList} when asked. Readers never lock anything that writers take.
+ * <p/>
+ * Renaming a line item and delivering an order change the objects in place, so a snapshot sees those changes.
+ */
+public final class CompanySnapshot
+{
+    private final Company company;
+    private final long version;
+    private volatile ImmutableList<Customer> customers;
+
+    CompanySnapshot(Company company, long version)
+    {
+        this.company = company;
+        this.version = version;
+    }
+
+    public Company getCompany()
+    {
+        return this.company;
+    }
+
+    public long getVersion()
+    {
+        return this.version;
+    }
+
+    public ImmutableList<Customer> getCustomers()
+    {
+        ImmutableList<Customer> result = this.customers;
+        if (result == null)
+        {
+            result = this.company.getCustomersAt(this.version);
+            this.customers = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the orders of one of the customers of this snapshot.
+     */
+    public ImmutableList<Order> getOrdersOf(Customer customer)
+    {
+        return customer.getOrdersAt(this.version);
+    }
+
+    /**
+     * Returns the line items of one of the orders of this snapshot.
+     */
+    public ImmutableList<LineItem> getLineItemsOf(Order order)
+    {
+        return order.getLineItemsAt(this.version);
+    }
+
+    public ImmutableList<Order> getOrders()
+    {
+        MutableList<Order> orders = FastList.newList();
+        ImmutableList<Customer> snapshotCustomers = this.getCustomers();
+        for (int i = 0; i < snapshotCustomers.size(); i++)
+        {
+            orders.addAllIterable(this.getOrdersOf(snapshotCustomers.get(i)));
+        }
+        return orders.toImmutable();
+    }
+
+    public double getValueOf(Order order)
+    {
+        return order.getValueAt(this.version);
+    }
+
+    /**
+     * Returns the sum of the order values of the customer given. The values of fixed-point orders are summed in cents,
+     * as {@link Customer#getTotalOrderValue()} does.
+     */
+    public double getTotalOrderValueOf(Customer customer)
+    {
+        return this.sumOfOrderValues(Lists.immutable.with(customer));
+    }
+
+    public double getTotalOrderValue()
+    {
+        return this.sumOfOrderValues(this.getCustomers());
+    }
+
+    private double sumOfOrderValues(ImmutableList<Customer> snapshotCustomers)
+    {
+        double total = 0.0;
+        long totalInCents = 0L;
+        for (int i = 0; i < snapshotCustomers.size(); i++)
+        {
+            ImmutableList<Order> orders = this.getOrdersOf(snapshotCustomers.get(i));
+            for (int j = 0; j < orders.size(); j++)
+            {
+                Order order = orders.get(j);
+                if (order.isFixedPoint())
+                {
+                    totalInCents += Money.roundToCents(this.getValueOf(order));
+                }
+                else
+                {
+                    total += this.getValueOf(order);
+                }
+            }
+        }
+        return total + Money.toDouble(totalInCents);
+    }
+}
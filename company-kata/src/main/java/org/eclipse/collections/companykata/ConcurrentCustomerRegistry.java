@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.multimap.list.ListMultimap;
+import org.eclipse.collections.impl.list.mutable.MultiReaderFastList;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.multimap.list.FastListMultimap;
+
+/**
+ * A {@link CustomerRegistry} which many threads can add to and read at once. The customers are held in a
+ * {@link MultiReaderFastList} and the name index in a {@link ConcurrentHashMap}, so both can be read without further
+ * locking. The city index is guarded by a read-write lock, and the city lookups return copies.
+ */
+class ConcurrentCustomerRegistry extends CustomerRegistry
+{
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    ConcurrentCustomerRegistry()
+    {
+        super(MultiReaderFastList.newList(), ConcurrentHashMap.newMap());
+    }
+
+    @Override
+    void add(Customer customer, long version)
+    {
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try
+        {
+            super.add(customer, version);
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    ListMultimap<String, Customer> getCustomersByCity()
+    {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try
+        {
+            return FastListMultimap.newMultimap(super.getCustomersByCity());
+        }
+        finally
+        {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    MutableList<Customer> getCustomersInCity(String city)
+    {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try
+        {
+            return super.getCustomersInCity(city).toList();
+        }
+        finally
+        {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    int countCustomersInCity(String city)
+    {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try
+        {
+            return super.countCustomersInCity(city);
+        }
+        finally
+        {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    boolean anyCustomerInCity(String city)
+    {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try
+        {
+            return super.anyCustomerInCity(city);
+        }
+        finally
+        {
+            readLock.unlock();
+        }
+    }
+}
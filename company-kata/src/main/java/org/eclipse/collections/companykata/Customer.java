@@ -10,24 +10,29 @@
 
 package org.eclipse.collections.companykata;
 
-import org.eclipse.collections.api.block.function.Function;
-import org.eclipse.collections.api.list.MutableList;
-import org.eclipse.collections.impl.block.function.AddFunction;
-import org.eclipse.collections.impl.utility.ListIterate;
-import org.junit.Assert;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.list.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Customers have a name, city and a list of {@link Order}s
+ * <p/>
+ * Orders and line items can be added from many threads at once. Changes to a customer and to its orders happen while
+ * holding the monitor of the customer, and for each order its own monitor as well, always in that order, so the
+ * running totals and the views of the {@link Company} count every line item exactly once.
  */
 public class Customer
 {
     private final String name;
     private final String city;
 
-    private final List<Order> orders = new ArrayList<>();
+    private final AppendOnlyList<Order> orders = new AppendOnlyList<>();
+    private final VersionLog orderVersions = new VersionLog();
+    // the running total of the floating-point orders, and of the fixed-point orders in cents
+    private volatile double floatingPointTotal;
+    private volatile long fixedPointTotalInCents;
+    private Company company;
 
     public Customer(String name, String city)
     {
@@ -45,19 +50,185 @@ public class Customer
         return this.name;
     }
 
+    /**
+     * Returns the orders of this customer. The list can be read while other threads add orders, but the orders may get
+     * new line items meanwhile, see {@link #forEachOrder(Procedure)}.
+     */
     public List<Order> getOrders()
     {
         return this.orders;
     }
 
-    public void addOrder(Order anOrder)
+    /**
+     * Calls the procedure with each order while holding the monitor of this customer, so no orders or line items are
+     * added to this customer meanwhile.
+     */
+    public synchronized void forEachOrder(Procedure<? super Order> procedure)
     {
-        this.orders.add(anOrder);
+        for (int i = 0; i < this.orders.size(); i++)
+        {
+            procedure.value(this.orders.get(i));
+        }
     }
 
+    public synchronized void addOrder(Order anOrder)
+    {
+        long version = this.beginWrite();
+        try
+        {
+            this.orders.add(anOrder);
+            this.orderVersions.record(version, this.orders.size());
+            anOrder.attachTo(this);
+            this.addToTotal(anOrder.isFixedPoint(), anOrder.getValue());
+            if (this.company != null)
+            {
+                this.company.orderAdded(this, anOrder);
+            }
+        }
+        finally
+        {
+            this.endWrite();
+        }
+    }
+
+    /**
+     * Returns the orders added up to the end of the {@link Company} version given, see {@link CompanySnapshot}.
+     */
+    ImmutableList<Order> getOrdersAt(long version)
+    {
+        return this.orders.toImmutableList(this.orderVersions.sizeAt(version));
+    }
+
+    /**
+     * Returns the version to tag an append to this customer or its orders with, which is 0 until the customer is added
+     * to a {@link Company}. Called while holding the monitor of this customer, and followed by {@link #endWrite()}.
+     */
+    long beginWrite()
+    {
+        return this.company == null ? 0L : this.company.beginWrite();
+    }
+
+    void endWrite()
+    {
+        if (this.company != null)
+        {
+            this.company.endWrite();
+        }
+    }
+
+    /**
+     * Returns the running total of the order values, which {@link #addOrder(Order)} and
+     * {@link Order#addLineItem(LineItem)} keep up to date. Orders added directly to {@link #getOrders()} are not
+     * tracked. The values of {@link Order#fixedPoint()} orders are added up exactly, in cents.
+     */
     public double getTotalOrderValue()
     {
-        MutableList<Double> orderValues = ListIterate.collect(this.orders, Order::getValue);
-        return orderValues.injectInto(0.0, AddFunction.DOUBLE_TO_DOUBLE);
+        return this.floatingPointTotal + Money.toDouble(this.fixedPointTotalInCents);
+    }
+
+    /**
+     * Returns the part of {@link #getTotalOrderValue()} from orders which are not fixed-point.
+     */
+    double getFloatingPointTotal()
+    {
+        return this.floatingPointTotal;
+    }
+
+    /**
+     * Returns the part of {@link #getTotalOrderValue()} from fixed-point orders, in cents.
+     */
+    long getFixedPointTotalInCents()
+    {
+        return this.fixedPointTotalInCents;
+    }
+
+    /**
+     * Returns the sum of {@link Order#getValueInCents()} over the orders of this customer.
+     */
+    synchronized long getTotalOrderValueInCents()
+    {
+        long cents = 0L;
+        for (int i = 0; i < this.orders.size(); i++)
+        {
+            cents += this.orders.get(i).getValueInCents();
+        }
+        return cents;
+    }
+
+    /**
+     * Called by the {@link Company} this customer is added to, so that new orders and line items update its views. The
+     * company holds the monitor of this customer meanwhile.
+     */
+    void setCompany(Company company)
+    {
+        this.company = company;
+    }
+
+    /**
+     * Called by an {@link Order} of this customer while holding the monitors of this customer and the order. Merged is
+     * true if the line item was added to the quantity of the last line of the order rather than as a new line.
+     */
+    void lineItemAdded(Order order, LineItem lineItem, boolean merged)
+    {
+        boolean fixedPoint = order.isFixedPoint();
+        this.addToTotal(fixedPoint, lineItem.getValue());
+        if (this.company != null)
+        {
+            this.company.lineItemAdded(this, lineItem.getItemId(), lineItem.getValue(), merged, fixedPoint);
+        }
+    }
+
+    void lineItemChanged(Order order, LineItem lineItem, int oldItemId, double oldValue)
+    {
+        if (Double.compare(lineItem.getValue(), oldValue) != 0)
+        {
+            this.refreshTotalOrderValue();
+        }
+        if (this.company != null)
+        {
+            this.company.lineItemChanged(
+                    this,
+                    oldItemId,
+                    oldValue,
+                    lineItem.getItemId(),
+                    lineItem.getValue(),
+                    order.isFixedPoint());
+        }
+    }
+
+    /**
+     * Adds a value to the running total. Values of fixed-point orders are whole numbers of cents, so rounding them to
+     * cents is exact.
+     */
+    private void addToTotal(boolean fixedPoint, double value)
+    {
+        if (fixedPoint)
+        {
+            this.fixedPointTotalInCents += Money.roundToCents(value);
+        }
+        else
+        {
+            this.floatingPointTotal += value;
+        }
+    }
+
+    void refreshTotalOrderValue()
+    {
+        double total = 0.0;
+        long totalInCents = 0L;
+        for (int i = 0; i < this.orders.size(); i++)
+        {
+            Order order = this.orders.get(i);
+            if (order.isFixedPoint())
+            {
+                totalInCents += order.getValueInCents();
+            }
+            else
+            {
+                total += order.getValue();
+            }
+        }
+        this.floatingPointTotal = total;
+        this.fixedPointTotalInCents = totalInCents;
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.multimap.list.ListMultimap;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.multimap.list.FastListMultimap;
+
+/**
+ * The {@link Customer}s of a {@link Company} in the order they were added, indexed by name and by city. The customers
+ * are also kept in an {@link AppendOnlyList} with the version each was added in, for {@link CompanySnapshot}s.
+ */
+class CustomerRegistry
+{
+    private final MutableList<Customer> customers;
+    private final MutableMap<String, Customer> customersByName;
+    private final MutableListMultimap<String, Customer> customersByCity = FastListMultimap.newMultimap();
+    private final AppendOnlyList<Customer> versionedCustomers = new AppendOnlyList<>();
+    private final VersionLog customerVersions = new VersionLog();
+
+    CustomerRegistry()
+    {
+        this(FastList.newList(), UnifiedMap.newMap());
+    }
+
+    CustomerRegistry(MutableList<Customer> customers, MutableMap<String, Customer> customersByName)
+    {
+        this.customers = customers;
+        this.customersByName = customersByName;
+    }
+
+    /**
+     * Adds the customer, tagged with the version given. The name index keeps the first customer added with each name.
+     */
+    void add(Customer customer, long version)
+    {
+        this.customers.add(customer);
+        this.customersByName.getIfAbsentPut(customer.getName(), customer);
+        this.customersByCity.put(customer.getCity(), customer);
+        this.versionedCustomers.add(customer);
+        this.customerVersions.record(version, this.versionedCustomers.size());
+    }
+
+    /**
+     * Returns the customers added up to the end of the version given, without locking.
+     */
+    ImmutableList<Customer> getCustomersAt(long version)
+    {
+        return this.versionedCustomers.toImmutableList(this.customerVersions.sizeAt(version));
+    }
+
+    MutableList<Customer> getCustomers()
+    {
+        return this.customers;
+    }
+
+    Customer getCustomerNamed(String name)
+    {
+        return this.customersByName.get(name);
+    }
+
+    ListMultimap<String, Customer> getCustomersByCity()
+    {
+        return this.customersByCity;
+    }
+
+    MutableList<Customer> getCustomersInCity(String city)
+    {
+        return this.customersByCity.get(city);
+    }
+
+    int countCustomersInCity(String city)
+    {
+        return this.customersByCity.get(city).size();
+    }
+
+    boolean anyCustomerInCity(String city)
+    {
+        return this.customersByCity.containsKey(city);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+/**
+ * A min-heap of at most k customers keyed by a primitive double value, which keeps the k customers with the highest
+ * values offered to it. The position of each customer in the heap is indexed, so that offering a customer again
+ * updates its value in place in O(log k) time.
+ */
+final class CustomerValueHeap
+{
+    private final int capacity;
+    private final ObjectIntHashMap<Customer> positions = new ObjectIntHashMap<>();
+    private double[] values;
+    private Customer[] customers;
+    private int size;
+
+    CustomerValueHeap(int capacity)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Invalid number of customers " + capacity);
+        }
+        this.capacity = capacity;
+        this.values = new double[Math.min(capacity, 16)];
+        this.customers = new Customer[this.values.length];
+    }
+
+    boolean isFull()
+    {
+        return this.size == this.capacity;
+    }
+
+    /**
+     * Returns the lowest value in the heap, which a customer outside a full heap must exceed to get in.
+     */
+    double minimum()
+    {
+        return this.size == 0 ? Double.NEGATIVE_INFINITY : this.values[0];
+    }
+
+    /**
+     * Adds the customer, or updates its value if it is in the heap already. Returns false if the value of a customer in
+     * a full heap dropped below the lowest value, as a customer outside the heap may then have a higher value.
+     */
+    boolean offer(Customer customer, double value)
+    {
+        int position = this.positions.getIfAbsent(customer, -1);
+        if (position >= 0)
+        {
+            double oldValue = this.values[position];
+            double minimum = this.values[0];
+            this.values[position] = value;
+            if (value > oldValue)
+            {
+                this.siftDown(position);
+            }
+            else if (value < oldValue)
+            {
+                this.siftUp(position);
+                return !this.isFull() || value >= minimum;
+            }
+        }
+        else if (this.size < this.capacity)
+        {
+            if (this.size == this.values.length)
+            {
+                int newLength = (int) Math.min(this.capacity, this.size * 2L);
+                this.values = Arrays.copyOf(this.values, newLength);
+                this.customers = Arrays.copyOf(this.customers, newLength);
+            }
+            this.set(this.size, customer, value);
+            this.size++;
+            this.siftUp(this.size - 1);
+        }
+        else if (value > this.values[0])
+        {
+            this.positions.remove(this.customers[0]);
+            this.set(0, customer, value);
+            this.siftDown(0);
+        }
+        return true;
+    }
+
+    void addAll(CustomerValueHeap other)
+    {
+        for (int i = 0; i < other.size; i++)
+        {
+            this.offer(other.customers[i], other.values[i]);
+        }
+    }
+
+    /**
+     * Returns the customers in the heap from the highest value to the lowest, in O(k log k) time.
+     */
+    MutableList<Customer> toSortedList()
+    {
+        double[] heapValues = Arrays.copyOf(this.values, this.size);
+        Customer[] heapCustomers = Arrays.copyOf(this.customers, this.size);
+        Customer[] sorted = new Customer[this.size];
+        for (int remaining = this.size; remaining > 0; remaining--)
+        {
+            sorted[remaining - 1] = heapCustomers[0];
+            heapValues[0] = heapValues[remaining - 1];
+            heapCustomers[0] = heapCustomers[remaining - 1];
+            CustomerValueHeap.siftDown(heapValues, heapCustomers, remaining - 1, 0, null);
+        }
+        return FastList.newListWith(sorted);
+    }
+
+    private void set(int position, Customer customer, double value)
+    {
+        this.values[position] = value;
+        this.customers[position] = customer;
+        this.positions.put(customer, position);
+    }
+
+    private void siftUp(int position)
+    {
+        double value = this.values[position];
+        Customer customer = this.customers[position];
+        int child = position;
+        while (child > 0)
+        {
+            int parent = (child - 1) >>> 1;
+            if (this.values[parent] <= value)
+            {
+                break;
+            }
+            this.set(child, this.customers[parent], this.values[parent]);
+            child = parent;
+        }
+        this.set(child, customer, value);
+    }
+
+    private void siftDown(int position)
+    {
+        CustomerValueHeap.siftDown(this.values, this.customers, this.size, position, this.positions);
+    }
+
+    private static void siftDown(
+            double[] values,
+            Customer[] customers,
+            int size,
+            int position,
+            ObjectIntHashMap<Customer> positions)
+    {
+        double value = values[position];
+        Customer customer = customers[position];
+        int parent = position;
+        while (true)
+        {
+            int child = (parent << 1) + 1;
+            if (child >= size)
+            {
+                break;
+            }
+            if (child + 1 < size && values[child + 1] < values[child])
+            {
+                child++;
+            }
+            if (values[child] >= value)
+            {
+                break;
+            }
+            values[parent] = values[child];
+            customers[parent] = customers[child];
+            if (positions != null)
+            {
+                positions.put(customers[parent], parent);
+            }
+            parent = child;
+        }
+        values[parent] = value;
+        customers[parent] = customer;
+        if (positions != null)
+        {
+            positions.put(customer, parent);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.eclipse.collections.api.block.procedure.primitive.IntDoubleProcedure;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.primitive.MutableIntDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableIntLongMap;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * Keeps {@link LineItem}s as columns like {@link ColumnarLineItemStore}, but with prices as longs counting cents, see
+ * {@link Money}. Prices must be whole numbers of cents. All sums are exact sums of cents which are only turned into
+ * doubles at the end, so they do not depend on the order the rows are added in.
+ */
+class FixedPointLineItemStore implements LineItemStore
+{
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private volatile int[] itemIds = new int[DEFAULT_CAPACITY];
+    private volatile long[] prices = new long[DEFAULT_CAPACITY];
+    private volatile int[] quantities = new int[DEFAULT_CAPACITY];
+    private volatile int size;
+
+    private void ensureCapacity(int capacity)
+    {
+        int length = this.prices.length;
+        if (capacity > length)
+        {
+            int newCapacity = Math.max(capacity, length << 1);
+            this.itemIds = Arrays.copyOf(this.itemIds, newCapacity);
+            this.quantities = Arrays.copyOf(this.quantities, newCapacity);
+            this.prices = Arrays.copyOf(this.prices, newCapacity);
+        }
+    }
+
+    @Override
+    public void add(LineItem lineItem)
+    {
+        long price = Money.toCents(lineItem.getPrice());
+        int n = this.size;
+        this.ensureCapacity(n + 1);
+        this.itemIds[n] = lineItem.getItemId();
+        this.quantities[n] = lineItem.getQuantity();
+        this.prices[n] = price;
+        this.size = n + 1;
+    }
+
+    @Override
+    public boolean mergeIntoLast(int itemId, double price, int quantity)
+    {
+        long cents = Money.toCents(price);
+        int last = this.size - 1;
+        if (last < 0 || this.itemIds[last] != itemId || this.prices[last] != cents)
+        {
+            return false;
+        }
+        this.quantities[last] += quantity;
+        return true;
+    }
+
+    @Override
+    public void addAll(Order owner, int[] itemIds, double[] prices, int[] quantities, int count)
+    {
+        int n = this.size;
+        this.ensureCapacity(n + count);
+        long[] cents = this.prices;
+        for (int i = 0; i < count; i++)
+        {
+            cents[n + i] = Money.toCents(prices[i]);
+        }
+        if (quantities == null)
+        {
+            Arrays.fill(this.quantities, n, n + count, 1);
+        }
+        else
+        {
+            System.arraycopy(quantities, 0, this.quantities, n, count);
+        }
+        System.arraycopy(itemIds, 0, this.itemIds, n, count);
+        this.size = n + count;
+    }
+
+    @Override
+    public boolean update(int oldItemId, LineItem lineItem)
+    {
+        int n = this.size;
+        int[] ids = this.itemIds;
+        long[] cents = this.prices;
+        int[] qtys = this.quantities;
+        long price = Money.toCents(lineItem.getPrice());
+        // rows with the same item, price and quantity are interchangeable, so the first match is the one to update
+        for (int i = 0; i < n; i++)
+        {
+            if (ids[i] == oldItemId && cents[i] == price && qtys[i] == lineItem.getQuantity())
+            {
+                ids[i] = lineItem.getItemId();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public List<LineItem> asList(Order owner)
+    {
+        return new LineItemView(owner);
+    }
+
+    @Override
+    public ImmutableList<LineItem> toImmutableList(Order owner, int count)
+    {
+        LineItem[] rows = new LineItem[count];
+        for (int i = 0; i < count; i++)
+        {
+            rows[i] = this.lineItemAt(owner, i);
+        }
+        return Lists.immutable.with(rows);
+    }
+
+    private LineItem lineItemAt(Order owner, int row)
+    {
+        int[] ids = this.itemIds;
+        int[] qtys = this.quantities;
+        long[] cents = this.prices;
+        LineItem lineItem = new LineItem(ids[row], Money.toDouble(cents[row]), qtys[row]);
+        lineItem.setOrder(owner);
+        return lineItem;
+    }
+
+    @Override
+    public double sumOfValues()
+    {
+        return this.sumOfFirstValues(this.size);
+    }
+
+    @Override
+    public double sumOfFirstValues(int count)
+    {
+        int[] qtys = this.quantities;
+        long[] cents = this.prices;
+        long sum = 0L;
+        for (int i = 0; i < count; i++)
+        {
+            sum += cents[i] * qtys[i];
+        }
+        return Money.toDouble(sum);
+    }
+
+    @Override
+    public double sumOfValues(int itemId)
+    {
+        int n = this.size;
+        int[] ids = this.itemIds;
+        int[] qtys = this.quantities;
+        long[] cents = this.prices;
+        long sum = 0L;
+        for (int i = 0; i < n; i++)
+        {
+            if (ids[i] == itemId)
+            {
+                sum += cents[i] * qtys[i];
+            }
+        }
+        return Money.toDouble(sum);
+    }
+
+    @Override
+    public boolean containsItem(int itemId)
+    {
+        int n = this.size;
+        int[] ids = this.itemIds;
+        for (int i = 0; i < n; i++)
+        {
+            if (ids[i] == itemId)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void sumOfValuesByItemId(MutableIntDoubleMap target)
+    {
+        this.forEach(target::addToValue);
+    }
+
+    @Override
+    public void sumOfCentsByItemId(MutableIntLongMap target)
+    {
+        int n = this.size;
+        int[] ids = this.itemIds;
+        int[] qtys = this.quantities;
+        long[] cents = this.prices;
+        for (int i = 0; i < n; i++)
+        {
+            target.addToValue(ids[i], cents[i] * qtys[i]);
+        }
+    }
+
+    @Override
+    public void forEach(IntDoubleProcedure procedure)
+    {
+        this.forEachOfFirst(this.size, procedure);
+    }
+
+    @Override
+    public void forEachOfFirst(int count, IntDoubleProcedure procedure)
+    {
+        int[] ids = this.itemIds;
+        int[] qtys = this.quantities;
+        long[] cents = this.prices;
+        for (int i = 0; i < count; i++)
+        {
+            procedure.value(ids[i], Money.toDouble(cents[i] * qtys[i]));
+        }
+    }
+
+    @Override
+    public void forEachLineOfFirst(int count, LineProcedure procedure)
+    {
+        int[] ids = this.itemIds;
+        int[] qtys = this.quantities;
+        long[] cents = this.prices;
+        for (int i = 0; i < count; i++)
+        {
+            procedure.value(ids[i], Money.toDouble(cents[i]), qtys[i]);
+        }
+    }
+
+    private final class LineItemView extends AbstractList<LineItem> implements RandomAccess
+    {
+        private final Order owner;
+
+        private LineItemView(Order owner)
+        {
+            this.owner = owner;
+        }
+
+        @Override
+        public LineItem get(int index)
+        {
+            int n = FixedPointLineItemStore.this.size;
+            if (index < 0 || index >= n)
+            {
+                throw new IndexOutOfBoundsException("Index: " + index + " Size: " + n);
+            }
+            return FixedPointLineItemStore.this.lineItemAt(this.owner, index);
+        }
+
+        @Override
+        public int size()
+        {
+            return FixedPointLineItemStore.this.size;
+        }
+    }
+}
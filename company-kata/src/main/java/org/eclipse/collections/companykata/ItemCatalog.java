@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+
+/**
+ * Maps every item name to a dense int id, so that {@link Supplier}s and {@link LineItem}s can hold ids instead of
+ * their own copies of the names. Ids are handed out in the order names are first seen, starting at 0. A null name
+ * gets an id like any other name, since line items and suppliers may have null item names.
+ * <p/>
+ * There is one catalog per class loader, shared by every {@link Company}. It only grows: names are never removed, so
+ * an id stays valid for as long as the catalog lives, and every distinct item name ever seen is kept.
+ * <p/>
+ * Looking up an id or a name does not lock. Only adding a new name is synchronized.
+ */
+public final class ItemCatalog
+{
+    private static final ItemCatalog INSTANCE = new ItemCatalog();
+    private static final Object NULL_NAME = new Object();
+
+    private final ConcurrentHashMap<Object, Integer> idsByName = ConcurrentHashMap.newMap();
+    private volatile String[] names = new String[16];
+    private volatile int size;
+
+    public static ItemCatalog getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the id of the item name given, adding the name to the catalog if it is new.
+     */
+    public int getId(String itemName)
+    {
+        Integer id = this.idsByName.get(ItemCatalog.keyOf(itemName));
+        return id == null ? this.add(itemName) : id;
+    }
+
+    /**
+     * Returns the id of the item name given, or -1 if the name is not in the catalog.
+     */
+    public int indexOf(String itemName)
+    {
+        Integer id = this.idsByName.get(ItemCatalog.keyOf(itemName));
+        return id == null ? -1 : id;
+    }
+
+    public String getName(int itemId)
+    {
+        return this.names[itemId];
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    private static Object keyOf(String itemName)
+    {
+        return itemName == null ? NULL_NAME : itemName;
+    }
+
+    private synchronized int add(String itemName)
+    {
+        Object key = ItemCatalog.keyOf(itemName);
+        Integer existingId = this.idsByName.get(key);
+        if (existingId != null)
+        {
+            return existingId;
+        }
+        int id = this.size;
+        String[] currentNames = this.names;
+        if (id == currentNames.length)
+        {
+            currentNames = Arrays.copyOf(currentNames, id << 1);
+        }
+        currentNames[id] = itemName;
+        this.names = currentNames;
+        this.size = id + 1;
+        this.idsByName.put(key, id);
+        return id;
+    }
+}
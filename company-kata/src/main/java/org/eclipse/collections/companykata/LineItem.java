@@ -13,37 +13,103 @@ package org.eclipse.collections.companykata;
 import org.eclipse.collections.api.block.function.Function;
 
 /**
- * An Item has a name and a value.
+ * An Item has a name, a price and a quantity, which is 1 unless given. Its value is the price times the quantity. The
+ * name is held as its id in the {@link ItemCatalog}.
  */
 public class LineItem
 {
-    private String name;
-    private final double value;
+    private int itemId;
+    private final double price;
+    private int quantity;
+    private Order order;
 
     public String getName()
     {
-        return this.name;
+        return ItemCatalog.getInstance().getName(this.itemId);
+    }
+
+    public int getItemId()
+    {
+        return this.itemId;
     }
 
     public void setName(String name)
     {
-        this.name = name;
+        int oldItemId = this.itemId;
+        this.itemId = ItemCatalog.getInstance().getId(name);
+        if (this.order != null)
+        {
+            this.order.lineItemChanged(this, oldItemId, this.getValue());
+        }
+    }
+
+    /**
+     * Returns the price of one of the items.
+     */
+    public double getPrice()
+    {
+        return this.price;
     }
 
+    public int getQuantity()
+    {
+        return this.quantity;
+    }
+
+    /**
+     * Returns the price times the quantity.
+     */
     public double getValue()
     {
-        return this.value;
+        return this.price * this.quantity;
     }
 
     public LineItem(String name, double value)
     {
-        this.name = name;
-        this.value = value;
+        this(name, value, 1);
+    }
+
+    public LineItem(String name, double price, int quantity)
+    {
+        this(ItemCatalog.getInstance().getId(name), price, quantity);
+    }
+
+    LineItem(int itemId, double price, int quantity)
+    {
+        if (quantity < 1)
+        {
+            throw new IllegalArgumentException("Invalid quantity " + quantity);
+        }
+        this.itemId = itemId;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Called by the {@link Order} this item is added to, so that changes to the item can invalidate its totals.
+     */
+    void setOrder(Order order)
+    {
+        this.order = order;
+    }
+
+    /**
+     * Called by the {@link Order} of this item when more of the same item at the same price are merged into it. Returns
+     * a new line with the quantities added up, which takes the place of this item in the order, so this item may be
+     * shared by the caller who added it and is left as it was, apart from no longer belonging to the order.
+     */
+    LineItem mergedWith(int quantity)
+    {
+        LineItem merged = new LineItem(this.itemId, this.price, this.quantity + quantity);
+        merged.order = this.order;
+        this.order = null;
+        return merged;
     }
 
     @Override
     public String toString()
     {
-        return this.name + " $ " + this.getValue();
+        String line = this.getName() + " $ " + this.price;
+        return this.quantity == 1 ? line : this.quantity + " x " + line;
     }
 }
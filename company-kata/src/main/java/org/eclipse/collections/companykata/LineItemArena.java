@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Memory outside the Java heap for the line items of orders created with {@link Order#offHeap(LineItemArena)}. The
+ * memory is a list of 64 MB segments, either direct {@link ByteBuffer}s or regions of a memory-mapped file, from which
+ * chunks are handed out one after another. Chunks are never moved or reused, so an order can be read while it grows;
+ * the memory is released when the arena is no longer reachable.
+ */
+public final class LineItemArena implements Closeable
+{
+    static final int SEGMENT_SHIFT = 26;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+    private final FileChannel channel;
+    private volatile ByteBuffer[] segments = new ByteBuffer[0];
+    private int position = SEGMENT_SIZE;
+
+    private LineItemArena(FileChannel channel)
+    {
+        this.channel = channel;
+    }
+
+    /**
+     * Creates an arena of direct byte buffers.
+     */
+    public static LineItemArena offHeap()
+    {
+        return new LineItemArena(null);
+    }
+
+    /**
+     * Creates an arena mapped onto the file given, which is created or truncated and then grows a segment at a time.
+     */
+    public static LineItemArena mapped(Path path) throws IOException
+    {
+        return new LineItemArena(FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Returns the address of a new chunk of the size given, which lies within one segment. The high 32 bits of the
+     * address are the segment index, and the low 32 bits the offset within the segment.
+     */
+    synchronized long allocate(int bytes)
+    {
+        if (bytes > SEGMENT_SIZE)
+        {
+            throw new IllegalArgumentException("Chunk of " + bytes + " bytes does not fit in a segment");
+        }
+        if (this.position + bytes > SEGMENT_SIZE)
+        {
+            this.addSegment();
+        }
+        long address = ((long) (this.segments.length - 1) << 32) | this.position;
+        this.position += bytes;
+        return address;
+    }
+
+    private void addSegment()
+    {
+        ByteBuffer segment;
+        if (this.channel == null)
+        {
+            segment = ByteBuffer.allocateDirect(SEGMENT_SIZE);
+        }
+        else
+        {
+            try
+            {
+                long start = (long) this.segments.length << SEGMENT_SHIFT;
+                segment = this.channel.map(FileChannel.MapMode.READ_WRITE, start, SEGMENT_SIZE);
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException("Could not map a new segment", e);
+            }
+        }
+        ByteBuffer[] grown = Arrays.copyOf(this.segments, this.segments.length + 1);
+        grown[grown.length - 1] = segment.order(ByteOrder.nativeOrder());
+        this.segments = grown;
+        this.position = 0;
+    }
+
+    ByteBuffer segmentOf(long address)
+    {
+        return this.segments[(int) (address >>> 32)];
+    }
+
+    static int offsetOf(long address)
+    {
+        return (int) address;
+    }
+
+    /**
+     * Returns the number of bytes of memory reserved so far.
+     */
+    public long getReservedBytes()
+    {
+        return (long) this.segments.length << SEGMENT_SHIFT;
+    }
+
+    /**
+     * Closes the mapped file, if any. The mapped memory stays readable until the arena is no longer reachable.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (this.channel != null)
+        {
+            this.channel.close();
+        }
+    }
+}
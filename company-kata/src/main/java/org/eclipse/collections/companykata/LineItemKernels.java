@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+/**
+ * The reductions over columns of line item prices and quantities which {@link ColumnarLineItemStore} uses. This is the
+ * Java 8 version, which runs {@link ScalarLineItemKernels}. The java21 build profile adds a version of this class
+ * to the jar, under META-INF/versions/21, which runs the same reductions with the Vector API when the
+ * jdk.incubator.vector module is added to the JVM.
+ */
+final class LineItemKernels
+{
+    private LineItemKernels()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static boolean isVectorized()
+    {
+        return false;
+    }
+
+    static double sum(double[] prices, int count)
+    {
+        return ScalarLineItemKernels.sum(prices, count);
+    }
+
+    static double sumOfProducts(double[] prices, int[] quantities, int count)
+    {
+        return ScalarLineItemKernels.sumOfProducts(prices, quantities, count);
+    }
+
+    static double sumWhere(int[] itemIds, int itemId, double[] prices, int[] quantities, int count)
+    {
+        return ScalarLineItemKernels.sumWhere(itemIds, itemId, prices, quantities, count);
+    }
+
+    static double min(double[] prices, int count)
+    {
+        return ScalarLineItemKernels.min(prices, count);
+    }
+
+    static double max(double[] prices, int count)
+    {
+        return ScalarLineItemKernels.max(prices, count);
+    }
+}
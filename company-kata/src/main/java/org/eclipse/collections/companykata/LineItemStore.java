@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.List;
+
+import org.eclipse.collections.api.block.procedure.primitive.IntDoubleProcedure;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.primitive.MutableIntDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableIntLongMap;
+
+/**
+ * The storage behind the {@link LineItem}s of an {@link Order}. An Order either keeps its LineItems as objects or
+ * in columns of primitives, see {@link ObjectLineItemStore}, {@link ColumnarLineItemStore} and
+ * {@link FixedPointLineItemStore}. Items are identified by
+ * their {@link ItemCatalog} id. Each row has a price and a quantity, and the value of a row is its price times its
+ * quantity; the sums and the {@link IntDoubleProcedure}s are given values.
+ * <p/>
+ * Writes are serialized by the Order. The methods reading the first rows, which {@link CompanySnapshot}s use, are safe
+ * while another thread adds rows.
+ */
+interface LineItemStore
+{
+    void add(LineItem lineItem);
+
+    /**
+     * Adds the quantity to the last row if it has the item id and price given, and returns whether it did.
+     */
+    boolean mergeIntoLast(int itemId, double price, int quantity);
+
+    /**
+     * Appends rows of {@link ItemCatalog} ids, prices and quantities in bulk, bound to the owner given. A null array
+     * of quantities means a quantity of 1 for every row.
+     */
+    void addAll(Order owner, int[] itemIds, double[] prices, int[] quantities, int count);
+
+    /**
+     * Writes the current item id of the given item into the row that held the old item id with the same price and
+     * quantity, and returns whether there was such a row.
+     */
+    boolean update(int oldItemId, LineItem lineItem);
+
+    int size();
+
+    List<LineItem> asList(Order owner);
+
+    ImmutableList<LineItem> toImmutableList(Order owner, int count);
+
+    double sumOfValues();
+
+    double sumOfFirstValues(int count);
+
+    double sumOfValues(int itemId);
+
+    void sumOfValuesByItemId(MutableIntDoubleMap target);
+
+    boolean containsItem(int itemId);
+
+    /**
+     * Returns the lowest price of the rows, or positive infinity if there are none.
+     */
+    default double minPrice()
+    {
+        double[] min = {Double.POSITIVE_INFINITY};
+        this.forEachLineOfFirst(this.size(), (itemId, price, quantity) -> min[0] = Math.min(min[0], price));
+        return min[0];
+    }
+
+    /**
+     * Returns the highest price of the rows, or negative infinity if there are none.
+     */
+    default double maxPrice()
+    {
+        double[] max = {Double.NEGATIVE_INFINITY};
+        this.forEachLineOfFirst(this.size(), (itemId, price, quantity) -> max[0] = Math.max(max[0], price));
+        return max[0];
+    }
+
+    /**
+     * Adds the values of the rows to the given map in cents, keyed by item id. Each value is rounded to the nearest
+     * cent, unless the store keeps cents already.
+     */
+    default void sumOfCentsByItemId(MutableIntLongMap target)
+    {
+        this.forEach((itemId, value) -> target.addToValue(itemId, Money.roundToCents(value)));
+    }
+
+    /**
+     * Calls the procedure with the item id and value of each row.
+     */
+    void forEach(IntDoubleProcedure procedure);
+
+    void forEachOfFirst(int count, IntDoubleProcedure procedure);
+
+    /**
+     * Calls the procedure with the item id, price and quantity of each of the first rows.
+     */
+    void forEachLineOfFirst(int count, LineProcedure procedure);
+
+    @FunctionalInterface
+    interface LineProcedure
+    {
+        void value(int itemId, double price, int quantity);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+/**
+ * Converts amounts of money between doubles and longs counting cents. Sums of cents are exact and can be added in
+ * any order, so they come out the same however a report is split between threads.
+ */
+final class Money
+{
+    private static final double CENTS_PER_UNIT = 100.0;
+
+    private Money()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Returns the amount given in cents, which must be a whole number of cents.
+     */
+    static long toCents(double amount)
+    {
+        long cents = Math.round(amount * CENTS_PER_UNIT);
+        if (Money.toDouble(cents) != amount)
+        {
+            throw new IllegalArgumentException("Amount " + amount + " is not a whole number of cents");
+        }
+        return cents;
+    }
+
+    /**
+     * Returns the amount given in cents, rounded to the nearest cent.
+     */
+    static long roundToCents(double amount)
+    {
+        return Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    static double toDouble(long cents)
+    {
+        return cents / CENTS_PER_UNIT;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.collections.api.block.procedure.primitive.IntDoubleProcedure;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.primitive.MutableIntDoubleMap;
+
+/**
+ * Keeps each {@link LineItem} as an object in a {@link List}. This is the default storage of an {@link Order}.
+ */
+class ObjectLineItemStore implements LineItemStore
+{
+    private final AppendOnlyList<LineItem> lineItems = new AppendOnlyList<>();
+    private final List<LineItem> unmodifiableLineItems = Collections.unmodifiableList(this.lineItems);
+
+    @Override
+    public void add(LineItem lineItem)
+    {
+        this.lineItems.add(lineItem);
+    }
+
+    @Override
+    public boolean mergeIntoLast(int itemId, double price, int quantity)
+    {
+        int n = this.lineItems.size();
+        if (n == 0)
+        {
+            return false;
+        }
+        LineItem last = this.lineItems.get(n - 1);
+        if (last.getItemId() != itemId || Double.compare(last.getPrice(), price) != 0)
+        {
+            return false;
+        }
+        this.lineItems.replaceLast(last.mergedWith(quantity));
+        return true;
+    }
+
+    @Override
+    public void addAll(Order owner, int[] itemIds, double[] prices, int[] quantities, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            LineItem lineItem = new LineItem(itemIds[i], prices[i], quantities == null ? 1 : quantities[i]);
+            lineItem.setOrder(owner);
+            this.lineItems.add(lineItem);
+        }
+    }
+
+    @Override
+    public boolean update(int oldItemId, LineItem lineItem)
+    {
+        // the item itself is the stored row
+        return true;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.lineItems.size();
+    }
+
+    @Override
+    public List<LineItem> asList(Order owner)
+    {
+        return this.unmodifiableLineItems;
+    }
+
+    @Override
+    public double sumOfValues()
+    {
+        double sum = 0.0;
+        for (int i = 0; i < this.lineItems.size(); i++)
+        {
+            sum += this.lineItems.get(i).getValue();
+        }
+        return sum;
+    }
+
+    @Override
+    public double sumOfFirstValues(int count)
+    {
+        double sum = 0.0;
+        for (int i = 0; i < count; i++)
+        {
+            sum += this.lineItems.get(i).getValue();
+        }
+        return sum;
+    }
+
+    @Override
+    public ImmutableList<LineItem> toImmutableList(Order owner, int count)
+    {
+        return this.lineItems.toImmutableList(count);
+    }
+
+    @Override
+    public double sumOfValues(int itemId)
+    {
+        double sum = 0.0;
+        for (int i = 0; i < this.lineItems.size(); i++)
+        {
+            LineItem lineItem = this.lineItems.get(i);
+            if (lineItem.getItemId() == itemId)
+            {
+                sum += lineItem.getValue();
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean containsItem(int itemId)
+    {
+        for (int i = 0; i < this.lineItems.size(); i++)
+        {
+            if (this.lineItems.get(i).getItemId() == itemId)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void sumOfValuesByItemId(MutableIntDoubleMap target)
+    {
+        for (int i = 0; i < this.lineItems.size(); i++)
+        {
+            LineItem lineItem = this.lineItems.get(i);
+            target.addToValue(lineItem.getItemId(), lineItem.getValue());
+        }
+    }
+
+    @Override
+    public void forEach(IntDoubleProcedure procedure)
+    {
+        this.forEachOfFirst(this.lineItems.size(), procedure);
+    }
+
+    @Override
+    public void forEachOfFirst(int count, IntDoubleProcedure procedure)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            LineItem lineItem = this.lineItems.get(i);
+            procedure.value(lineItem.getItemId(), lineItem.getValue());
+        }
+    }
+
+    @Override
+    public void forEachLineOfFirst(int count, LineProcedure procedure)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            LineItem lineItem = this.lineItems.get(i);
+            procedure.value(lineItem.getItemId(), lineItem.getPrice(), lineItem.getQuantity());
+        }
+    }
+}
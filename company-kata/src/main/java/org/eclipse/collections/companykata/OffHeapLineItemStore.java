@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.eclipse.collections.api.block.procedure.primitive.IntDoubleProcedure;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.primitive.MutableIntDoubleMap;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * Keeps {@link LineItem}s as fixed-width records of an {@link ItemCatalog} id, a quantity and a price in a
+ * {@link LineItemArena}.
+ * The records are held in chunks of 8, 16, 32 and so on up to 1M records, so small orders waste little memory and
+ * chunks never have to be copied. Sums and iteration read the records in place without creating any objects;
+ * {@link #asList(Order)} hands out copies of the rows, like {@link ColumnarLineItemStore}.
+ */
+class OffHeapLineItemStore implements LineItemStore
+{
+    private static final int QUANTITY_OFFSET = Integer.BYTES;
+    private static final int PRICE_OFFSET = QUANTITY_OFFSET + Integer.BYTES;
+    private static final int RECORD_SIZE = PRICE_OFFSET + Double.BYTES;
+    private static final int FIRST_CHUNK_SHIFT = 3;
+    private static final int GROWING_CHUNKS = 18;
+    private static final int MAX_CHUNK_RECORDS = 1 << (FIRST_CHUNK_SHIFT + GROWING_CHUNKS - 1);
+    private static final int RECORDS_IN_GROWING_CHUNKS =
+            (1 << (FIRST_CHUNK_SHIFT + GROWING_CHUNKS)) - (1 << FIRST_CHUNK_SHIFT);
+    private static final long[] NO_CHUNKS = {};
+
+    private final LineItemArena arena;
+    private volatile long[] chunks = NO_CHUNKS;
+    private volatile int size;
+
+    OffHeapLineItemStore(LineItemArena arena)
+    {
+        this.arena = arena;
+    }
+
+    private static int capacityOf(int chunk)
+    {
+        return chunk < GROWING_CHUNKS ? 1 << (FIRST_CHUNK_SHIFT + chunk) : MAX_CHUNK_RECORDS;
+    }
+
+    private static int chunkOf(int row)
+    {
+        if (row < RECORDS_IN_GROWING_CHUNKS)
+        {
+            return 31 - Integer.numberOfLeadingZeros((row >>> FIRST_CHUNK_SHIFT) + 1);
+        }
+        return GROWING_CHUNKS + (row - RECORDS_IN_GROWING_CHUNKS) / MAX_CHUNK_RECORDS;
+    }
+
+    private static int firstRowOf(int chunk)
+    {
+        if (chunk < GROWING_CHUNKS)
+        {
+            return (1 << (FIRST_CHUNK_SHIFT + chunk)) - (1 << FIRST_CHUNK_SHIFT);
+        }
+        return RECORDS_IN_GROWING_CHUNKS + (chunk - GROWING_CHUNKS) * MAX_CHUNK_RECORDS;
+    }
+
+    /**
+     * Returns the address of the record for the row given, adding a chunk if the row is the first of a new one.
+     */
+    private long addressForAppend(int row)
+    {
+        int chunk = OffHeapLineItemStore.chunkOf(row);
+        long[] current = this.chunks;
+        if (chunk == current.length)
+        {
+            current = Arrays.copyOf(current, chunk + 1);
+            current[chunk] = this.arena.allocate(OffHeapLineItemStore.capacityOf(chunk) * RECORD_SIZE);
+            this.chunks = current;
+        }
+        return current[chunk] + (long) (row - OffHeapLineItemStore.firstRowOf(chunk)) * RECORD_SIZE;
+    }
+
+    private long addressOf(int row)
+    {
+        int chunk = OffHeapLineItemStore.chunkOf(row);
+        return this.chunks[chunk] + (long) (row - OffHeapLineItemStore.firstRowOf(chunk)) * RECORD_SIZE;
+    }
+
+    private void write(int row, int itemId, double price, int quantity)
+    {
+        long address = this.addressForAppend(row);
+        ByteBuffer segment = this.arena.segmentOf(address);
+        int offset = LineItemArena.offsetOf(address);
+        segment.putInt(offset, itemId);
+        segment.putInt(offset + QUANTITY_OFFSET, quantity);
+        segment.putDouble(offset + PRICE_OFFSET, price);
+    }
+
+    @Override
+    public void add(LineItem lineItem)
+    {
+        int n = this.size;
+        this.write(n, lineItem.getItemId(), lineItem.getPrice(), lineItem.getQuantity());
+        this.size = n + 1;
+    }
+
+    @Override
+    public boolean mergeIntoLast(int itemId, double price, int quantity)
+    {
+        int n = this.size;
+        if (n == 0)
+        {
+            return false;
+        }
+        long address = this.addressOf(n - 1);
+        ByteBuffer segment = this.arena.segmentOf(address);
+        int offset = LineItemArena.offsetOf(address);
+        if (segment.getInt(offset) != itemId || Double.compare(segment.getDouble(offset + PRICE_OFFSET), price) != 0)
+        {
+            return false;
+        }
+        segment.putInt(offset + QUANTITY_OFFSET, segment.getInt(offset + QUANTITY_OFFSET) + quantity);
+        return true;
+    }
+
+    @Override
+    public void addAll(Order owner, int[] itemIds, double[] prices, int[] quantities, int count)
+    {
+        int n = this.size;
+        for (int i = 0; i < count; i++)
+        {
+            this.write(n + i, itemIds[i], prices[i], quantities == null ? 1 : quantities[i]);
+        }
+        this.size = n + count;
+    }
+
+    @Override
+    public boolean update(int oldItemId, LineItem lineItem)
+    {
+        int n = this.size;
+        // rows with the same item, price and quantity are interchangeable, so the first match is the one to update
+        for (int i = 0; i < n; i++)
+        {
+            long address = this.addressOf(i);
+            ByteBuffer segment = this.arena.segmentOf(address);
+            int offset = LineItemArena.offsetOf(address);
+            if (segment.getInt(offset) == oldItemId
+                    && segment.getInt(offset + QUANTITY_OFFSET) == lineItem.getQuantity()
+                    && Double.compare(segment.getDouble(offset + PRICE_OFFSET), lineItem.getPrice()) == 0)
+            {
+                segment.putInt(offset, lineItem.getItemId());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public List<LineItem> asList(Order owner)
+    {
+        return new LineItemView(owner);
+    }
+
+    @Override
+    public ImmutableList<LineItem> toImmutableList(Order owner, int count)
+    {
+        LineItem[] rows = new LineItem[count];
+        for (int i = 0; i < count; i++)
+        {
+            rows[i] = this.lineItemAt(owner, i);
+        }
+        return Lists.immutable.with(rows);
+    }
+
+    private LineItem lineItemAt(Order owner, int row)
+    {
+        long address = this.addressOf(row);
+        ByteBuffer segment = this.arena.segmentOf(address);
+        int offset = LineItemArena.offsetOf(address);
+        LineItem lineItem = new LineItem(
+                segment.getInt(offset),
+                segment.getDouble(offset + PRICE_OFFSET),
+                segment.getInt(offset + QUANTITY_OFFSET));
+        lineItem.setOrder(owner);
+        return lineItem;
+    }
+
+    @Override
+    public double sumOfValues()
+    {
+        return this.sumOfFirstValues(this.size);
+    }
+
+    @Override
+    public double sumOfFirstValues(int count)
+    {
+        long[] current = this.chunks;
+        double sum = 0.0;
+        int remaining = count;
+        for (int chunk = 0; remaining > 0; chunk++)
+        {
+            ByteBuffer segment = this.arena.segmentOf(current[chunk]);
+            int offset = LineItemArena.offsetOf(current[chunk]);
+            int rows = Math.min(remaining, OffHeapLineItemStore.capacityOf(chunk));
+            for (int i = 0; i < rows; i++, offset += RECORD_SIZE)
+            {
+                sum += OffHeapLineItemStore.valueAt(segment, offset);
+            }
+            remaining -= rows;
+        }
+        return sum;
+    }
+
+    @Override
+    public double sumOfValues(int itemId)
+    {
+        long[] current = this.chunks;
+        double sum = 0.0;
+        int remaining = this.size;
+        for (int chunk = 0; remaining > 0; chunk++)
+        {
+            ByteBuffer segment = this.arena.segmentOf(current[chunk]);
+            int offset = LineItemArena.offsetOf(current[chunk]);
+            int rows = Math.min(remaining, OffHeapLineItemStore.capacityOf(chunk));
+            for (int i = 0; i < rows; i++, offset += RECORD_SIZE)
+            {
+                if (segment.getInt(offset) == itemId)
+                {
+                    sum += OffHeapLineItemStore.valueAt(segment, offset);
+                }
+            }
+            remaining -= rows;
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean containsItem(int itemId)
+    {
+        long[] current = this.chunks;
+        int remaining = this.size;
+        for (int chunk = 0; remaining > 0; chunk++)
+        {
+            ByteBuffer segment = this.arena.segmentOf(current[chunk]);
+            int offset = LineItemArena.offsetOf(current[chunk]);
+            int rows = Math.min(remaining, OffHeapLineItemStore.capacityOf(chunk));
+            for (int i = 0; i < rows; i++, offset += RECORD_SIZE)
+            {
+                if (segment.getInt(offset) == itemId)
+                {
+                    return true;
+                }
+            }
+            remaining -= rows;
+        }
+        return false;
+    }
+
+    @Override
+    public void sumOfValuesByItemId(MutableIntDoubleMap target)
+    {
+        this.forEach(target::addToValue);
+    }
+
+    @Override
+    public void forEach(IntDoubleProcedure procedure)
+    {
+        this.forEachOfFirst(this.size, procedure);
+    }
+
+    @Override
+    public void forEachOfFirst(int count, IntDoubleProcedure procedure)
+    {
+        long[] current = this.chunks;
+        int remaining = count;
+        for (int chunk = 0; remaining > 0; chunk++)
+        {
+            ByteBuffer segment = this.arena.segmentOf(current[chunk]);
+            int offset = LineItemArena.offsetOf(current[chunk]);
+            int rows = Math.min(remaining, OffHeapLineItemStore.capacityOf(chunk));
+            for (int i = 0; i < rows; i++, offset += RECORD_SIZE)
+            {
+                procedure.value(segment.getInt(offset), OffHeapLineItemStore.valueAt(segment, offset));
+            }
+            remaining -= rows;
+        }
+    }
+
+    @Override
+    public void forEachLineOfFirst(int count, LineProcedure procedure)
+    {
+        long[] current = this.chunks;
+        int remaining = count;
+        for (int chunk = 0; remaining > 0; chunk++)
+        {
+            ByteBuffer segment = this.arena.segmentOf(current[chunk]);
+            int offset = LineItemArena.offsetOf(current[chunk]);
+            int rows = Math.min(remaining, OffHeapLineItemStore.capacityOf(chunk));
+            for (int i = 0; i < rows; i++, offset += RECORD_SIZE)
+            {
+                procedure.value(
+                        segment.getInt(offset),
+                        segment.getDouble(offset + PRICE_OFFSET),
+                        segment.getInt(offset + QUANTITY_OFFSET));
+            }
+            remaining -= rows;
+        }
+    }
+
+    private static double valueAt(ByteBuffer segment, int offset)
+    {
+        return segment.getDouble(offset + PRICE_OFFSET) * segment.getInt(offset + QUANTITY_OFFSET);
+    }
+
+    private final class LineItemView extends AbstractList<LineItem> implements RandomAccess
+    {
+        private final Order owner;
+
+        private LineItemView(Order owner)
+        {
+            this.owner = owner;
+        }
+
+        @Override
+        public LineItem get(int index)
+        {
+            int n = OffHeapLineItemStore.this.size;
+            if (index < 0 || index >= n)
+            {
+                throw new IndexOutOfBoundsException("Index: " + index + " Size: " + n);
+            }
+            return OffHeapLineItemStore.this.lineItemAt(this.owner, index);
+        }
+
+        @Override
+        public int size()
+        {
+            return OffHeapLineItemStore.this.size;
+        }
+    }
+}
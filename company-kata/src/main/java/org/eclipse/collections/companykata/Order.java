@@ -11,55 +11,315 @@
 package org.eclipse.collections.companykata;
 
 import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
-import org.eclipse.collections.impl.block.function.AddFunction;
-import org.eclipse.collections.impl.collection.mutable.CollectionAdapter;
-import org.eclipse.collections.impl.utility.Iterate;
+import org.eclipse.collections.api.block.procedure.primitive.IntDoubleProcedure;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.primitive.IntDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableIntDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableIntLongMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Has a number, a {@link Customer}, a {@link List} of {@link LineItem}s, and a boolean that states whether or not the order
- * has been delivered. There is a class variable that contains the next order number.
+ * has been delivered. There is a class variable that allocates the order numbers, see {@link OrderNumberAllocator}.
+ * Orders can be delivered from many threads at once.
+ * <p/>
+ * Line items can be added from many threads at once, see {@link Customer} for how they are counted exactly once. An
+ * order belongs to at most one customer.
+ * <p/>
+ * The {@link LineItem}s are kept as objects by default. An order created with {@link #columnar()} keeps them as a
+ * column of {@link ItemCatalog} ids and a column of primitive values instead, which suits orders with many lines. An
+ * order created with {@link #offHeap(LineItemArena)} keeps them in a {@link LineItemArena} outside the Java heap. An
+ * order created with {@link #fixedPoint()} keeps prices as whole cents, so its values are exact.
+ * <p/>
+ * Each line has a quantity. {@link #addLineItem(String, double, int)} adds to the quantity of the last line when it is
+ * for the same item at the same price, so runs of the same item are kept as one line and the sums read one line per
+ * run.
  */
 public class Order
 {
-    private static final AtomicInteger NEXT_ORDER_NUMBER = new AtomicInteger(1);
+    private static final OrderNumberAllocator ORDER_NUMBERS = new OrderNumberAllocator();
+    private static final AtomicIntegerFieldUpdater<Order> DELIVERED =
+            AtomicIntegerFieldUpdater.newUpdater(Order.class, "delivered");
 
     private final int orderNumber;
-    private final List<LineItem> lineItems = new ArrayList<>();
-    private boolean isDelivered;
+    private final LineItemStore lineItems;
+    private final boolean fixedPoint;
+    private final VersionLog lineItemVersions = new VersionLog();
+    // the running total is kept in value, or in valueInCents for a fixed-point order
+    private volatile double value;
+    private volatile long valueInCents;
+    private volatile Customer customer;
+    private volatile int delivered;
 
     public Order()
     {
-        this.orderNumber = NEXT_ORDER_NUMBER.getAndIncrement();
+        this(new ObjectLineItemStore());
     }
 
+    Order(LineItemStore lineItems)
+    {
+        this.orderNumber = ORDER_NUMBERS.next();
+        this.lineItems = lineItems;
+        this.fixedPoint = lineItems instanceof FixedPointLineItemStore;
+    }
+
+    /**
+     * Creates an order that stores its {@link LineItem}s in primitive columns. {@link #getLineItems()} is then a
+     * read-only view whose elements are copies of the stored rows; renaming one of them updates this order.
+     */
+    public static Order columnar()
+    {
+        return new Order(new ColumnarLineItemStore());
+    }
+
+    /**
+     * Creates an order that stores its {@link LineItem}s as records in the arena given, outside the Java heap. Like a
+     * columnar order, {@link #getLineItems()} is then a read-only view of copies, while values and sums are read in
+     * place.
+     */
+    public static Order offHeap(LineItemArena arena)
+    {
+        return new Order(new OffHeapLineItemStore(arena));
+    }
+
+    /**
+     * Creates a columnar order that keeps prices as longs counting cents, so its value and the sums of its line items
+     * are exact and the same in whatever order they are added up. Adding a line item whose price is not a whole number
+     * of cents throws {@link IllegalArgumentException}.
+     */
+    public static Order fixedPoint()
+    {
+        return new Order(new FixedPointLineItemStore());
+    }
+
+    /**
+     * Restarts the order numbers at 1 for orders created from now on.
+     */
     public static void resetNextOrderNumber()
     {
-        NEXT_ORDER_NUMBER.set(1);
+        ORDER_NUMBERS.reset();
+    }
+
+    public int getOrderNumber()
+    {
+        return this.orderNumber;
     }
 
     public void deliver()
     {
-        this.isDelivered = true;
+        this.delivered = 1;
+    }
+
+    /**
+     * Delivers this order and returns true if it had not been delivered before.
+     */
+    boolean deliverIfNotDelivered()
+    {
+        return this.delivered == 0 && DELIVERED.compareAndSet(this, 0, 1);
     }
 
     public boolean isDelivered()
     {
-        return this.isDelivered;
+        return this.delivered != 0;
     }
 
     public void addLineItem(LineItem aLineItem)
     {
-        this.lineItems.add(aLineItem);
+        this.addLineItem(aLineItem, false);
+    }
+
+    /**
+     * Adds the quantity given of an item at the price given. If the last line of this order is for the same item at
+     * the same price, and no {@link CompanySnapshot} can see it yet, its quantity is increased instead of adding a
+     * line.
+     */
+    public void addLineItem(String itemName, double price, int quantity)
+    {
+        this.addLineItem(new LineItem(itemName, price, quantity), true);
     }
 
+    private void addLineItem(LineItem aLineItem, boolean merge)
+    {
+        Customer owner = this.customer;
+        if (owner == null)
+        {
+            synchronized (this)
+            {
+                if (this.customer == null)
+                {
+                    this.append(aLineItem, 0L, merge);
+                    return;
+                }
+            }
+            owner = this.customer;
+        }
+        synchronized (owner)
+        {
+            long version = owner.beginWrite();
+            try
+            {
+                boolean merged;
+                synchronized (this)
+                {
+                    merged = this.append(aLineItem, version, merge);
+                }
+                owner.lineItemAdded(this, aLineItem, merged);
+            }
+            finally
+            {
+                owner.endWrite();
+            }
+        }
+    }
+
+    /**
+     * Appends line items of quantity 1 in bulk from columns of {@link ItemCatalog} ids and prices, as
+     * {@link OrderFeedLoader} does. The order must not belong to a customer yet.
+     */
+    void addLineItems(int[] itemIds, double[] prices, int count)
+    {
+        this.addLineItems(itemIds, prices, null, count);
+    }
+
+    /**
+     * Appends line items in bulk from columns of {@link ItemCatalog} ids, prices and quantities, as
+     * {@link CompanyBinaryFormat} does when reading. Null quantities mean a quantity of 1 for each line. The order
+     * must not belong to a customer yet.
+     */
+    synchronized void addLineItems(int[] itemIds, double[] prices, int[] quantities, int count)
+    {
+        if (this.customer != null)
+        {
+            throw new IllegalStateException("Order " + this.orderNumber + " already belongs to a customer");
+        }
+        this.lineItems.addAll(this, itemIds, prices, quantities, count);
+        this.lineItemVersions.record(0L, this.lineItems.size());
+        if (this.fixedPoint)
+        {
+            this.valueInCents = Money.roundToCents(this.lineItems.sumOfValues());
+            return;
+        }
+        double total = this.value;
+        for (int i = 0; i < count; i++)
+        {
+            total += quantities == null ? prices[i] : prices[i] * quantities[i];
+        }
+        this.value = total;
+    }
+
+    boolean isColumnar()
+    {
+        return this.lineItems instanceof ColumnarLineItemStore;
+    }
+
+    boolean isFixedPoint()
+    {
+        return this.fixedPoint;
+    }
+
+    /**
+     * Returns true if the line item was merged into the last line instead of being added as a line.
+     */
+    private boolean append(LineItem aLineItem, long version, boolean merge)
+    {
+        // a line last written in this version is not in any snapshot yet, so it can still be merged into
+        boolean merged = merge
+                && this.lineItemVersions.lastVersion() == version
+                && this.lineItems.mergeIntoLast(aLineItem.getItemId(), aLineItem.getPrice(), aLineItem.getQuantity());
+        if (!merged)
+        {
+            this.lineItems.add(aLineItem);
+            this.lineItemVersions.record(version, this.lineItems.size());
+            aLineItem.setOrder(this);
+        }
+        if (this.fixedPoint)
+        {
+            // the store has checked that the price is a whole number of cents, so this rounding is exact
+            this.valueInCents += Money.roundToCents(aLineItem.getValue());
+        }
+        else
+        {
+            this.value += aLineItem.getValue();
+        }
+        return merged;
+    }
+
+    /**
+     * Returns a read-only view of the line items of this order, which are added through {@link #addLineItem(LineItem)}
+     * so that the running totals stay correct. The list is not safe to read while other threads add line items.
+     */
     public List<LineItem> getLineItems()
     {
-        return this.lineItems;
+        return this.lineItems.asList(this);
+    }
+
+    /**
+     * Called by the {@link Customer} this order is added to, while holding the monitor of the customer, so that new
+     * line items update the customer's total. The value of the order does not change until the customer is released.
+     */
+    synchronized void attachTo(Customer customer)
+    {
+        this.customer = customer;
+    }
+
+    /**
+     * Called by a {@link LineItem} of this order after its name or value changed. A changed value invalidates the
+     * running total, which is then recomputed here and in the customer. A copy of a line which has since been merged
+     * into no longer matches a stored line, and is ignored.
+     */
+    void lineItemChanged(LineItem lineItem, int oldItemId, double oldValue)
+    {
+        Customer owner = this.customer;
+        if (owner == null)
+        {
+            synchronized (this)
+            {
+                if (this.customer == null)
+                {
+                    this.update(lineItem, oldItemId, oldValue);
+                    return;
+                }
+            }
+            owner = this.customer;
+        }
+        synchronized (owner)
+        {
+            boolean updated;
+            synchronized (this)
+            {
+                updated = this.update(lineItem, oldItemId, oldValue);
+            }
+            if (updated)
+            {
+                owner.lineItemChanged(this, lineItem, oldItemId, oldValue);
+            }
+        }
+    }
+
+    private boolean update(LineItem lineItem, int oldItemId, double oldValue)
+    {
+        if (!this.lineItems.update(oldItemId, lineItem))
+        {
+            return false;
+        }
+        if (Double.compare(lineItem.getValue(), oldValue) != 0)
+        {
+            if (this.fixedPoint)
+            {
+                this.valueInCents = Money.roundToCents(this.lineItems.sumOfValues());
+            }
+            else
+            {
+                this.value = this.lineItems.sumOfValues();
+            }
+        }
+        return true;
     }
 
     @Override
@@ -69,12 +329,125 @@ public class Order
     }
 
     /**
-     * Refactor to use {@link org.eclipse.collections.api.RichIterable#sumOfDouble(DoubleFunction)}.
+     * Returns the running total of the line item values, which {@link #addLineItem(LineItem)} keeps up to date. The
+     * total of a {@link #fixedPoint()} order is kept in cents and only turned into a double here.
+     *
+     * @see org.eclipse.collections.api.RichIterable#sumOfDouble(DoubleFunction)
      */
     public double getValue()
     {
-        Collection<Double> itemValues = Iterate.collect(this.lineItems, LineItem::getValue);
+        return this.fixedPoint ? Money.toDouble(this.valueInCents) : this.value;
+    }
+
+    /**
+     * Returns {@link #getValue()} in cents, rounded to the nearest cent. The value of a {@link #fixedPoint()} order is
+     * kept as a whole number of cents, so no rounding is needed for it.
+     */
+    public long getValueInCents()
+    {
+        return this.fixedPoint ? this.valueInCents : Money.roundToCents(this.value);
+    }
+
+    /**
+     * Returns the line items added up to the end of the {@link Company} version given, see {@link CompanySnapshot}.
+     */
+    ImmutableList<LineItem> getLineItemsAt(long version)
+    {
+        return this.lineItems.toImmutableList(this, this.lineItemVersions.sizeAt(version));
+    }
+
+    void forEachLineAt(long version, LineItemStore.LineProcedure procedure)
+    {
+        this.lineItems.forEachLineOfFirst(this.lineItemVersions.sizeAt(version), procedure);
+    }
+
+    double getValueAt(long version)
+    {
+        return this.lineItems.sumOfFirstValues(this.lineItemVersions.sizeAt(version));
+    }
+
+    /**
+     * Sums the values of the line items for the given item name.
+     */
+    public double getValueOf(String itemName)
+    {
+        int itemId = ItemCatalog.getInstance().indexOf(itemName);
+        if (itemId == -1)
+        {
+            return 0.0;
+        }
+        synchronized (this)
+        {
+            return this.lineItems.sumOfValues(itemId);
+        }
+    }
+
+    /**
+     * Returns whether any line item is for the item with the {@link ItemCatalog} id given.
+     */
+    synchronized boolean containsItem(int itemId)
+    {
+        return this.lineItems.containsItem(itemId);
+    }
+
+    /**
+     * Returns the lowest price of the line items, or 0.0 if there are none.
+     */
+    public synchronized double getLowestPrice()
+    {
+        return this.lineItems.size() == 0 ? 0.0 : this.lineItems.minPrice();
+    }
 
-        return CollectionAdapter.adapt(itemValues).injectInto(0.0, AddFunction.DOUBLE_TO_DOUBLE);
+    /**
+     * Returns the highest price of the line items, or 0.0 if there are none.
+     */
+    public synchronized double getHighestPrice()
+    {
+        return this.lineItems.size() == 0 ? 0.0 : this.lineItems.maxPrice();
+    }
+
+    /**
+     * Sums the values of the line items grouped by item name.
+     */
+    public ObjectDoubleMap<String> getValuesByItem()
+    {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        MutableObjectDoubleMap<String> valuesByItem = ObjectDoubleHashMap.newMap();
+        this.getValuesByItemId().forEachKeyValue((itemId, value) -> valuesByItem.put(catalog.getName(itemId), value));
+        return valuesByItem;
+    }
+
+    /**
+     * Sums the values of the line items grouped by {@link ItemCatalog} id.
+     */
+    public synchronized IntDoubleMap getValuesByItemId()
+    {
+        MutableIntDoubleMap valuesByItemId = new IntDoubleHashMap();
+        this.sumOfValuesByItemId(valuesByItemId);
+        return valuesByItemId;
+    }
+
+    /**
+     * Adds the values of the line items to the given map, keyed by {@link ItemCatalog} id.
+     */
+    void sumOfValuesByItemId(MutableIntDoubleMap target)
+    {
+        this.lineItems.sumOfValuesByItemId(target);
+    }
+
+    /**
+     * Adds the values of the line items in cents to the given map, keyed by {@link ItemCatalog} id.
+     */
+    void sumOfCentsByItemId(MutableIntLongMap target)
+    {
+        this.lineItems.sumOfCentsByItemId(target);
+    }
+
+    /**
+     * Calls the procedure with the {@link ItemCatalog} id and value, the price times the quantity, of each line item.
+     */
+    void forEachLineItem(IntDoubleProcedure procedure)
+    {
+        this.lineItems.forEach(procedure);
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+
+/**
+ * A batch of whole orders parsed by an {@link OrderFeedParser}, kept in columns so that a batch can be reused once
+ * applied: the customer name and city of each order, the index after its last line item, and the {@link ItemCatalog}
+ * id and value of each line item.
+ */
+final class OrderBatch
+{
+    String[] customerNames;
+    String[] cities;
+    int[] lineEnds;
+    int orderCount;
+
+    int[] itemIds;
+    double[] values;
+    int lineCount;
+
+    boolean last;
+
+    OrderBatch(int lineCapacity)
+    {
+        int orderCapacity = Math.max(16, lineCapacity >>> 2);
+        this.customerNames = new String[orderCapacity];
+        this.cities = new String[orderCapacity];
+        this.lineEnds = new int[orderCapacity];
+        this.itemIds = new int[lineCapacity];
+        this.values = new double[lineCapacity];
+    }
+
+    void startOrder(String customerName, String city)
+    {
+        if (this.orderCount == this.lineEnds.length)
+        {
+            int newCapacity = this.orderCount << 1;
+            this.customerNames = Arrays.copyOf(this.customerNames, newCapacity);
+            this.cities = Arrays.copyOf(this.cities, newCapacity);
+            this.lineEnds = Arrays.copyOf(this.lineEnds, newCapacity);
+        }
+        this.customerNames[this.orderCount] = customerName;
+        this.cities[this.orderCount] = city;
+        this.lineEnds[this.orderCount] = this.lineCount;
+        this.orderCount++;
+    }
+
+    /**
+     * Adds a line item to the order started last. The columns only grow beyond their capacity for an order larger than
+     * a whole batch.
+     */
+    void addLineItem(int itemId, double value)
+    {
+        if (this.lineCount == this.values.length)
+        {
+            int newCapacity = this.lineCount << 1;
+            this.itemIds = Arrays.copyOf(this.itemIds, newCapacity);
+            this.values = Arrays.copyOf(this.values, newCapacity);
+        }
+        this.itemIds[this.lineCount] = itemId;
+        this.values[this.lineCount] = value;
+        this.lineCount++;
+        this.lineEnds[this.orderCount - 1] = this.lineCount;
+    }
+
+    boolean isFull()
+    {
+        return this.lineCount >= this.values.length;
+    }
+
+    void clear()
+    {
+        Arrays.fill(this.customerNames, 0, this.orderCount, null);
+        Arrays.fill(this.cities, 0, this.orderCount, null);
+        this.orderCount = 0;
+        this.lineCount = 0;
+        this.last = false;
+    }
+}
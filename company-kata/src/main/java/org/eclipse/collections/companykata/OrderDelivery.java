@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.impl.parallel.AbstractProcedureCombiner;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+
+/**
+ * Delivers the orders of many customers at once, in parallel with {@link ParallelIterate}.
+ */
+final class OrderDelivery
+{
+    private static final int MIN_FORK_SIZE = 1_000;
+
+    private OrderDelivery()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Delivers the orders of the customers given which satisfy the predicate, and returns the number of orders which
+     * had not been delivered before.
+     */
+    static int deliver(Iterable<Customer> customers, Predicate<? super Order> predicate)
+    {
+        DeliveredCountCombiner combiner = new DeliveredCountCombiner();
+        ParallelIterate.forEach(
+                customers,
+                () -> new DeliverProcedure(predicate),
+                combiner,
+                MIN_FORK_SIZE,
+                ParallelIterate.getDefaultTaskCount());
+        return combiner.count;
+    }
+
+    private static final class DeliverProcedure implements Procedure<Customer>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Predicate<? super Order> predicate;
+        private int count;
+
+        private DeliverProcedure(Predicate<? super Order> predicate)
+        {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void value(Customer customer)
+        {
+            customer.forEachOrder(this::deliver);
+        }
+
+        private void deliver(Order order)
+        {
+            if (this.predicate.accept(order) && order.deliverIfNotDelivered())
+            {
+                this.count++;
+            }
+        }
+    }
+
+    private static final class DeliveredCountCombiner extends AbstractProcedureCombiner<DeliverProcedure>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private int count;
+
+        private DeliveredCountCombiner()
+        {
+            super(false);
+        }
+
+        @Override
+        public void combineAll(Iterable<DeliverProcedure> procedures)
+        {
+            for (DeliverProcedure procedure : procedures)
+            {
+                this.combineOne(procedure);
+            }
+        }
+
+        @Override
+        public void combineOne(DeliverProcedure procedure)
+        {
+            this.count += procedure.count;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.collections.api.block.function.Function0;
+
+/**
+ * Streams orders from a feed into a {@link Company} in bounded memory. The calling thread parses the feed into batches
+ * of whole orders, while a task on the executor adds them to the company. At most {@code maxBatchesInFlight} batches
+ * exist at once and they are reused, so when the company falls behind the parser waits for a batch to be freed instead
+ * of reading further ahead.
+ * <p/>
+ * Each line of the feed is one line item: {@code customerName,city,orderKey,itemName,value}. Consecutive lines with
+ * the same customer name and order key make up one order. Customers are looked up with
+ * {@link Company#getCustomerNamed(String)} and added if there is none yet. Blank lines and lines starting with
+ * {@code #} are skipped.
+ */
+public class OrderFeedLoader
+{
+    private static final int DEFAULT_BATCH_SIZE = 8192;
+    private static final int DEFAULT_MAX_BATCHES_IN_FLIGHT = 4;
+
+    private final Company company;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+    private final Function0<Order> orderFactory;
+
+    public OrderFeedLoader(Company company, ExecutorService executor)
+    {
+        this(company, executor, DEFAULT_BATCH_SIZE, DEFAULT_MAX_BATCHES_IN_FLIGHT, Order::columnar);
+    }
+
+    /**
+     * @param batchSize the number of line items after which a batch is handed over at the next order
+     * @param maxBatchesInFlight the number of batches which may be parsed but not yet added, at least 2
+     * @param orderFactory creates the empty orders the line items are added to, such as {@code Order::new}
+     */
+    public OrderFeedLoader(
+            Company company,
+            ExecutorService executor,
+            int batchSize,
+            int maxBatchesInFlight,
+            Function0<Order> orderFactory)
+    {
+        if (batchSize < 1 || maxBatchesInFlight < 2)
+        {
+            throw new IllegalArgumentException(
+                    "Invalid batch size " + batchSize + " or batches in flight " + maxBatchesInFlight);
+        }
+        this.company = company;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxBatchesInFlight = maxBatchesInFlight;
+        this.orderFactory = orderFactory;
+    }
+
+    /**
+     * Loads the feed in the file given and returns the number of line items added.
+     */
+    public long load(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            return this.load(channel);
+        }
+    }
+
+    /**
+     * Loads the feed from the channel, which is read to its end but not closed, and returns the number of line items
+     * added. Orders in the batches before a malformed line have already been added when it is reported.
+     */
+    public long load(ReadableByteChannel channel) throws IOException
+    {
+        BlockingQueue<OrderBatch> free = new ArrayBlockingQueue<>(this.maxBatchesInFlight);
+        BlockingQueue<OrderBatch> full = new ArrayBlockingQueue<>(this.maxBatchesInFlight);
+        for (int i = 0; i < this.maxBatchesInFlight; i++)
+        {
+            free.add(new OrderBatch(this.batchSize));
+        }
+        AtomicBoolean failed = new AtomicBoolean();
+        Future<Long> applied = this.executor.submit(() -> this.apply(free, full, failed));
+        OrderFeedParser parser = new OrderFeedParser(channel);
+        try
+        {
+            OrderBatch batch = free.take();
+            try
+            {
+                // stop parsing early if adding the orders has failed
+                while (!failed.get() && parser.fill(batch))
+                {
+                    full.put(batch);
+                    batch = free.take();
+                }
+            }
+            catch (IOException | RuntimeException e)
+            {
+                // drop the orders parsed before the failure in this batch and let the task finish
+                batch.clear();
+                batch.last = true;
+                full.put(batch);
+                awaitApplied(applied, e);
+                throw e;
+            }
+            batch.last = true;
+            full.put(batch);
+            return applied.get();
+        }
+        catch (InterruptedException e)
+        {
+            applied.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading the order feed", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IOException("Failed to add the orders from the feed", e.getCause());
+        }
+    }
+
+    /**
+     * Waits for the orders parsed before a failure to be added, keeping the failure as the one reported.
+     */
+    private static void awaitApplied(Future<Long> applied, Exception failure) throws InterruptedException
+    {
+        try
+        {
+            applied.get();
+        }
+        catch (ExecutionException e)
+        {
+            failure.addSuppressed(e.getCause());
+        }
+    }
+
+    /**
+     * Adds the orders of each batch to the company until the last batch, returning each batch to the pool. After a
+     * failure the flag given is set, so that the parser stops reading, and the batches are still returned, so that the
+     * parser never waits forever. The failure is rethrown at the end.
+     */
+    private long apply(BlockingQueue<OrderBatch> free, BlockingQueue<OrderBatch> full, AtomicBoolean failed)
+            throws InterruptedException
+    {
+        long lineCount = 0L;
+        Throwable failure = null;
+        int[] itemIds = new int[16];
+        double[] values = new double[16];
+        while (true)
+        {
+            OrderBatch batch = full.take();
+            if (failure == null)
+            {
+                try
+                {
+                    int start = 0;
+                    for (int i = 0; i < batch.orderCount; i++)
+                    {
+                        int count = batch.lineEnds[i] - start;
+                        if (count > itemIds.length)
+                        {
+                            itemIds = new int[Integer.highestOneBit(count) << 1];
+                            values = new double[itemIds.length];
+                        }
+                        System.arraycopy(batch.itemIds, start, itemIds, 0, count);
+                        System.arraycopy(batch.values, start, values, 0, count);
+                        Order order = this.orderFactory.value();
+                        order.addLineItems(itemIds, values, count);
+                        this.customerNamed(batch.customerNames[i], batch.cities[i]).addOrder(order);
+                        start = batch.lineEnds[i];
+                    }
+                    lineCount += batch.lineCount;
+                }
+                catch (Throwable e)
+                {
+                    failure = e;
+                    failed.set(true);
+                }
+            }
+            boolean last = batch.last;
+            batch.clear();
+            free.put(batch);
+            if (last)
+            {
+                if (failure instanceof Error)
+                {
+                    throw (Error) failure;
+                }
+                if (failure != null)
+                {
+                    throw (RuntimeException) failure;
+                }
+                return lineCount;
+            }
+        }
+    }
+
+    private Customer customerNamed(String name, String city)
+    {
+        Customer customer = this.company.getCustomerNamed(name);
+        if (customer == null)
+        {
+            customer = new Customer(name, city);
+            this.company.addCustomer(customer);
+        }
+        return customer;
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Parses a newline-delimited order feed from a channel into {@link OrderBatch}es, working on the bytes of a reused
+ * buffer. Each line is one line item: {@code customerName,city,orderKey,itemName,value}. Consecutive lines with the
+ * same customer name and order key belong to the same order. Blank lines and lines starting with {@code #} are skipped.
+ * <p/>
+ * Strings are only created when a new order starts; item names are looked up in a dictionary keyed by their bytes, and
+ * plain decimal values are parsed without creating objects.
+ */
+final class OrderFeedParser
+{
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int FIELD_COUNT = 5;
+    // 15 decimal digits are always below 2^53, so they convert to a double exactly
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ItemDictionary items = new ItemDictionary();
+    private final int[] fieldStarts = new int[FIELD_COUNT];
+    private final int[] fieldEnds = new int[FIELD_COUNT];
+
+    // the customer name and order key of the current order, from the start of the name to the end of the key
+    private byte[] orderKey = new byte[64];
+    private int orderKeyLength = -1;
+
+    private long lineNumber;
+    private boolean endOfInput;
+
+    OrderFeedParser(ReadableByteChannel channel)
+    {
+        this.channel = channel;
+        ((Buffer) this.buffer).limit(0);
+    }
+
+    long getLineNumber()
+    {
+        return this.lineNumber;
+    }
+
+    /**
+     * Fills the batch with whole orders, until it is full at the start of a new order or the feed ends. Returns false
+     * once the feed has ended and nothing was added.
+     */
+    boolean fill(OrderBatch batch) throws IOException
+    {
+        while (true)
+        {
+            int lineEnd = this.nextLineEnd();
+            if (lineEnd < 0)
+            {
+                return batch.lineCount > 0;
+            }
+            byte[] bytes = this.buffer.array();
+            int lineStart = this.buffer.position();
+            this.lineNumber++;
+            int contentEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd > lineStart && bytes[lineStart] != '#')
+            {
+                this.splitFields(bytes, lineStart, contentEnd);
+                boolean newOrder = !this.isCurrentOrder(bytes);
+                if (newOrder && batch.isFull())
+                {
+                    // leave the line in the buffer for the next batch
+                    this.lineNumber--;
+                    this.orderKeyLength = -1;
+                    return true;
+                }
+                if (newOrder)
+                {
+                    this.rememberOrder(bytes);
+                    batch.startOrder(this.string(bytes, 0), this.string(bytes, 1));
+                }
+                batch.addLineItem(
+                        this.items.idOf(bytes, this.fieldStarts[3], this.fieldEnds[3]),
+                        this.parseValue(bytes, this.fieldStarts[4], this.fieldEnds[4]));
+            }
+            ((Buffer) this.buffer).position(lineEnd < this.buffer.limit() ? lineEnd + 1 : lineEnd);
+        }
+    }
+
+    /**
+     * Returns the index of the newline ending the next line, or of the end of the input for a last line without one,
+     * reading more of the channel as needed. Returns -1 at the end of the input.
+     */
+    private int nextLineEnd() throws IOException
+    {
+        int searchFrom = this.buffer.position();
+        while (true)
+        {
+            byte[] bytes = this.buffer.array();
+            for (int i = searchFrom; i < this.buffer.limit(); i++)
+            {
+                if (bytes[i] == '\n')
+                {
+                    return i;
+                }
+            }
+            if (this.endOfInput)
+            {
+                return this.buffer.hasRemaining() ? this.buffer.limit() : -1;
+            }
+            int pending = this.buffer.remaining();
+            this.buffer.compact();
+            if (!this.buffer.hasRemaining())
+            {
+                ((Buffer) this.buffer).flip();
+                this.buffer = ByteBuffer.allocate(this.buffer.capacity() << 1).put(this.buffer);
+            }
+            this.endOfInput = this.channel.read(this.buffer) < 0;
+            ((Buffer) this.buffer).flip();
+            searchFrom = pending;
+        }
+    }
+
+    private void splitFields(byte[] bytes, int lineStart, int lineEnd) throws IOException
+    {
+        int field = 0;
+        this.fieldStarts[0] = lineStart;
+        for (int i = lineStart; i < lineEnd; i++)
+        {
+            if (bytes[i] == ',')
+            {
+                if (field == FIELD_COUNT - 1)
+                {
+                    throw this.malformed("too many fields");
+                }
+                this.fieldEnds[field] = i;
+                field++;
+                this.fieldStarts[field] = i + 1;
+            }
+        }
+        if (field != FIELD_COUNT - 1)
+        {
+            throw this.malformed("expected " + FIELD_COUNT + " fields");
+        }
+        this.fieldEnds[field] = lineEnd;
+    }
+
+    private boolean isCurrentOrder(byte[] bytes)
+    {
+        int length = this.fieldEnds[2] - this.fieldStarts[0];
+        if (length != this.orderKeyLength)
+        {
+            return false;
+        }
+        int start = this.fieldStarts[0];
+        for (int i = 0; i < length; i++)
+        {
+            if (bytes[start + i] != this.orderKey[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rememberOrder(byte[] bytes)
+    {
+        int length = this.fieldEnds[2] - this.fieldStarts[0];
+        if (length > this.orderKey.length)
+        {
+            this.orderKey = new byte[Math.max(length, this.orderKey.length << 1)];
+        }
+        System.arraycopy(bytes, this.fieldStarts[0], this.orderKey, 0, length);
+        this.orderKeyLength = length;
+    }
+
+    private String string(byte[] bytes, int field)
+    {
+        int start = this.fieldStarts[field];
+        return new String(bytes, start, this.fieldEnds[field] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses an optionally negative decimal with up to 15 digits exactly, by dividing the digits by a power of ten,
+     * which is correctly rounded as both are exact doubles. More digits may not fit in the 53 bits of a double, so
+     * they and anything else fall back to {@link Double#parseDouble}.
+     */
+    private double parseValue(byte[] bytes, int start, int end) throws IOException
+    {
+        int i = start;
+        boolean negative = i < end && bytes[i] == '-';
+        if (negative)
+        {
+            i++;
+        }
+        long digits = 0L;
+        int digitCount = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++)
+        {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9')
+            {
+                digits = digits * 10L + (b - '0');
+                digitCount++;
+                if (fractionDigits >= 0)
+                {
+                    fractionDigits++;
+                }
+            }
+            else if (b == '.' && fractionDigits < 0)
+            {
+                fractionDigits = 0;
+            }
+            else
+            {
+                break;
+            }
+        }
+        if (i == end && digitCount > 0 && digitCount <= MAX_EXACT_DIGITS)
+        {
+            double value = fractionDigits > 0 ? digits / POWERS_OF_TEN[fractionDigits] : digits;
+            return negative ? -value : value;
+        }
+        try
+        {
+            return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+        }
+        catch (NumberFormatException e)
+        {
+            throw this.malformed("invalid value");
+        }
+    }
+
+    private IOException malformed(String reason)
+    {
+        return new IOException("Malformed order feed line " + this.lineNumber + ": " + reason);
+    }
+
+    /**
+     * Maps the UTF-8 bytes of item names to {@link ItemCatalog} ids with open addressing, so that a known item name
+     * costs a hash and a comparison of bytes, without creating a String.
+     */
+    private static final class ItemDictionary
+    {
+        private byte[][] keys = new byte[64][];
+        private int[] ids = new int[64];
+        private int size;
+
+        private int idOf(byte[] bytes, int start, int end)
+        {
+            int hash = 1;
+            for (int i = start; i < end; i++)
+            {
+                hash = 31 * hash + bytes[i];
+            }
+            int mask = this.keys.length - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (this.keys[slot] != null)
+            {
+                byte[] key = this.keys[slot];
+                if (key.length == end - start && ItemDictionary.equal(key, bytes, start))
+                {
+                    return this.ids[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            byte[] key = Arrays.copyOfRange(bytes, start, end);
+            int id = ItemCatalog.getInstance().getId(new String(key, StandardCharsets.UTF_8));
+            this.keys[slot] = key;
+            this.ids[slot] = id;
+            if (++this.size > this.keys.length >>> 1)
+            {
+                this.rehash();
+            }
+            return id;
+        }
+
+        private static boolean equal(byte[] key, byte[] bytes, int start)
+        {
+            for (int i = 0; i < key.length; i++)
+            {
+                if (key[i] != bytes[start + i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void rehash()
+        {
+            byte[][] oldKeys = this.keys;
+            int[] oldIds = this.ids;
+            this.keys = new byte[oldKeys.length << 1][];
+            this.ids = new int[oldKeys.length << 1];
+            int mask = this.keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++)
+            {
+                byte[] key = oldKeys[i];
+                if (key != null)
+                {
+                    int hash = 1;
+                    for (byte b : key)
+                    {
+                        hash = 31 * hash + b;
+                    }
+                    int slot = (hash ^ (hash >>> 16)) & mask;
+                    while (this.keys[slot] != null)
+                    {
+                        slot = (slot + 1) & mask;
+                    }
+                    this.keys[slot] = key;
+                    this.ids[slot] = oldIds[i];
+                }
+            }
+        }
+    }
+}
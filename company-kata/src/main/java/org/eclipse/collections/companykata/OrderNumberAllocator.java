@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out unique order numbers without a shared counter update per number. Each thread claims a block of numbers
+ * from the shared counter and then hands them out on its own. Numbers are unique, and increase within a thread, but
+ * threads working at the same time get numbers from different blocks.
+ * <p/>
+ * {@link #reset()} starts a new generation counting from 1. Blocks claimed in an earlier generation are dropped the
+ * next time their thread asks for a number.
+ */
+final class OrderNumberAllocator
+{
+    static final int BLOCK_SIZE = 1024;
+
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+    private volatile Generation generation = new Generation();
+
+    int next()
+    {
+        Block block = this.blocks.get();
+        Generation current = this.generation;
+        if (block.generation != current || block.next == block.limit)
+        {
+            int start = current.nextBlockStart.getAndAdd(BLOCK_SIZE);
+            block.generation = current;
+            block.next = start;
+            block.limit = start + BLOCK_SIZE;
+        }
+        return block.next++;
+    }
+
+    void reset()
+    {
+        this.generation = new Generation();
+    }
+
+    private static final class Generation
+    {
+        private final AtomicInteger nextBlockStart = new AtomicInteger(1);
+    }
+
+    private static final class Block
+    {
+        private Generation generation;
+        private int next;
+        private int limit;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.map.primitive.IntDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+
+/**
+ * Total order values of a {@link Company} by city and by item, kept up to date as customers, orders and line items
+ * are added. The update methods are called while the monitor of the customer is held, so the orders and line items of
+ * that customer do not change during the call. Values of {@link Order#fixedPoint()} orders are summed in cents, and
+ * only added to the other values when the views are read.
+ */
+interface OrderValueViews
+{
+    void customerAdded(Customer customer);
+
+    void orderAdded(Customer customer, Order order);
+
+    /**
+     * Merged is true if the value was added to an existing line of the item, so there is no new line to count. Fixed
+     * point is true if the line item belongs to a fixed-point order.
+     */
+    void lineItemAdded(Customer customer, int itemId, double value, boolean merged, boolean fixedPoint);
+
+    void lineItemChanged(
+            Customer customer,
+            int oldItemId,
+            double oldValue,
+            int newItemId,
+            double newValue,
+            boolean fixedPoint);
+
+    /**
+     * Returns whether any line item of the item with the {@link ItemCatalog} id given is counted in the views.
+     */
+    boolean containsItem(int itemId);
+
+    ObjectDoubleMap<String> getTotalOrderValuesByCity();
+
+    IntDoubleMap getTotalOrderValuesByItemId();
+
+    ObjectDoubleMap<String> getTotalOrderValuesByItem();
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.lazy.AbstractLazyIterable;
+
+/**
+ * A lazy view of the orders of all customers of a {@link Company}, in the order the customers were added, which
+ * flattens the customers' orders as it goes instead of copying them. Its size comes from the count of orders the
+ * company keeps, so it does not visit any customer.
+ */
+final class OrdersView extends AbstractLazyIterable<Order>
+{
+    private final Company company;
+
+    OrdersView(Company company)
+    {
+        this.company = company;
+    }
+
+    @Override
+    public void each(Procedure<? super Order> procedure)
+    {
+        this.company.forEachCustomer(customer -> customer.forEachOrder(procedure));
+    }
+
+    /**
+     * Returns an iterator which walks the customers and their orders by index, which is safe while other threads add
+     * customers and orders, as both lists are only appended to.
+     */
+    @Override
+    public Iterator<Order> iterator()
+    {
+        return new OrdersIterator(this.company.getCustomers());
+    }
+
+    @Override
+    public int size()
+    {
+        return this.company.getOrderCount();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    private static final class OrdersIterator implements Iterator<Order>
+    {
+        private final MutableList<Customer> customers;
+        private int customerIndex;
+        private List<Order> orders;
+        private int orderIndex;
+
+        private OrdersIterator(MutableList<Customer> customers)
+        {
+            this.customers = customers;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (this.orders == null || this.orderIndex == this.orders.size())
+            {
+                if (this.customerIndex == this.customers.size())
+                {
+                    return false;
+                }
+                this.orders = this.customers.get(this.customerIndex++).getOrders();
+                this.orderIndex = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public Order next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return this.orders.get(this.orderIndex++);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+/**
+ * The reductions over columns of line item prices and quantities, written as plain loops so they run on Java 8. These
+ * are what {@link LineItemKernels} uses unless the Vector API is available. The first count entries of each column are
+ * read.
+ */
+final class ScalarLineItemKernels
+{
+    private ScalarLineItemKernels()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static double sum(double[] prices, int count)
+    {
+        double sum = 0.0;
+        for (int i = 0; i < count; i++)
+        {
+            sum += prices[i];
+        }
+        return sum;
+    }
+
+    static double sumOfProducts(double[] prices, int[] quantities, int count)
+    {
+        double sum = 0.0;
+        for (int i = 0; i < count; i++)
+        {
+            sum += prices[i] * quantities[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Sums the prices times the quantities of the rows with the item id given. Null quantities are all 1.
+     */
+    static double sumWhere(int[] itemIds, int itemId, double[] prices, int[] quantities, int count)
+    {
+        double sum = 0.0;
+        for (int i = 0; i < count; i++)
+        {
+            if (itemIds[i] == itemId)
+            {
+                sum += quantities == null ? prices[i] : prices[i] * quantities[i];
+            }
+        }
+        return sum;
+    }
+
+    static double min(double[] prices, int count)
+    {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++)
+        {
+            min = Math.min(min, prices[i]);
+        }
+        return min;
+    }
+
+    static double max(double[] prices, int count)
+    {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++)
+        {
+            max = Math.max(max, prices[i]);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.List;
+
+import org.eclipse.collections.api.map.primitive.IntDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableIntDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableIntLongMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntLongHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+
+/**
+ * Total order values of a {@link Company} by city and by item, updated in place as customers, orders and line items
+ * are added. The number of lines per item is kept as well, so that an item disappears from the view once its last
+ * line is renamed to another item.
+ * <p/>
+ * Each total is kept as a double for the floating-point orders and a long of cents for the fixed-point orders, and the
+ * views hold their sum, which is updated for each city or item that changes.
+ */
+class SerialOrderValueViews implements OrderValueViews
+{
+    private final MutableObjectDoubleMap<String> totalOrderValuesByCity = ObjectDoubleHashMap.newMap();
+    private final MutableObjectDoubleMap<String> floatingPointTotalsByCity = ObjectDoubleHashMap.newMap();
+    private final MutableObjectLongMap<String> fixedPointCentsByCity = ObjectLongHashMap.newMap();
+    private final MutableIntDoubleMap totalOrderValuesByItemId = new IntDoubleHashMap();
+    private final MutableIntDoubleMap floatingPointTotalsByItemId = new IntDoubleHashMap();
+    private final MutableIntLongMap fixedPointCentsByItemId = new IntLongHashMap();
+    private final MutableIntIntMap lineCountsByItemId = new IntIntHashMap();
+
+    @Override
+    public void customerAdded(Customer customer)
+    {
+        this.addToCity(customer.getCity(), customer.getFloatingPointTotal(), customer.getFixedPointTotalInCents());
+        List<Order> orders = customer.getOrders();
+        for (int i = 0; i < orders.size(); i++)
+        {
+            this.addLinesOf(orders.get(i));
+        }
+    }
+
+    @Override
+    public void orderAdded(Customer customer, Order order)
+    {
+        this.addValueToCity(customer.getCity(), order.getValue(), order.isFixedPoint());
+        this.addLinesOf(order);
+    }
+
+    @Override
+    public void lineItemAdded(Customer customer, int itemId, double value, boolean merged, boolean fixedPoint)
+    {
+        this.addValueToCity(customer.getCity(), value, fixedPoint);
+        this.addValueToItem(itemId, value, fixedPoint);
+        if (!merged)
+        {
+            this.lineCountsByItemId.addToValue(itemId, 1);
+        }
+    }
+
+    @Override
+    public void lineItemChanged(
+            Customer customer,
+            int oldItemId,
+            double oldValue,
+            int newItemId,
+            double newValue,
+            boolean fixedPoint)
+    {
+        if (fixedPoint)
+        {
+            this.addToCity(customer.getCity(), 0.0, Money.roundToCents(newValue) - Money.roundToCents(oldValue));
+        }
+        else
+        {
+            this.addToCity(customer.getCity(), newValue - oldValue, 0L);
+        }
+        if (this.lineCountsByItemId.addToValue(oldItemId, -1) == 0)
+        {
+            this.lineCountsByItemId.remove(oldItemId);
+            this.totalOrderValuesByItemId.remove(oldItemId);
+            this.floatingPointTotalsByItemId.remove(oldItemId);
+            this.fixedPointCentsByItemId.remove(oldItemId);
+        }
+        else
+        {
+            this.addValueToItem(oldItemId, -oldValue, fixedPoint);
+        }
+        this.addValueToItem(newItemId, newValue, fixedPoint);
+        this.lineCountsByItemId.addToValue(newItemId, 1);
+    }
+
+    /**
+     * Adds the floating-point totals and the fixed-point cents by city to the maps given, which is how
+     * {@link StripedOrderValueViews} merges its stripes.
+     */
+    void addTotalsByCityTo(MutableObjectDoubleMap<String> floatingPointTarget, MutableObjectLongMap<String> centsTarget)
+    {
+        this.floatingPointTotalsByCity.forEachKeyValue(floatingPointTarget::addToValue);
+        this.fixedPointCentsByCity.forEachKeyValue(centsTarget::addToValue);
+    }
+
+    void addTotalsByItemIdTo(MutableIntDoubleMap floatingPointTarget, MutableIntLongMap centsTarget)
+    {
+        this.floatingPointTotalsByItemId.forEachKeyValue(floatingPointTarget::addToValue);
+        this.fixedPointCentsByItemId.forEachKeyValue(centsTarget::addToValue);
+    }
+
+    private void addLinesOf(Order order)
+    {
+        boolean fixedPoint = order.isFixedPoint();
+        order.forEachLineItem((itemId, value) ->
+        {
+            this.addValueToItem(itemId, value, fixedPoint);
+            this.lineCountsByItemId.addToValue(itemId, 1);
+        });
+    }
+
+    /**
+     * Adds a value to the total of the city. Values of fixed-point orders are whole numbers of cents, so rounding them
+     * to cents is exact.
+     */
+    private void addValueToCity(String city, double value, boolean fixedPoint)
+    {
+        if (fixedPoint)
+        {
+            this.addToCity(city, 0.0, Money.roundToCents(value));
+        }
+        else
+        {
+            this.addToCity(city, value, 0L);
+        }
+    }
+
+    private void addToCity(String city, double floatingPointValue, long fixedPointCents)
+    {
+        double floatingPointTotal = this.floatingPointTotalsByCity.addToValue(city, floatingPointValue);
+        long cents = this.fixedPointCentsByCity.addToValue(city, fixedPointCents);
+        this.totalOrderValuesByCity.put(city, floatingPointTotal + Money.toDouble(cents));
+    }
+
+    private void addValueToItem(int itemId, double value, boolean fixedPoint)
+    {
+        double floatingPointTotal = this.floatingPointTotalsByItemId.addToValue(itemId, fixedPoint ? 0.0 : value);
+        long cents = this.fixedPointCentsByItemId.addToValue(itemId, fixedPoint ? Money.roundToCents(value) : 0L);
+        this.totalOrderValuesByItemId.put(itemId, floatingPointTotal + Money.toDouble(cents));
+    }
+
+    @Override
+    public boolean containsItem(int itemId)
+    {
+        return this.lineCountsByItemId.containsKey(itemId);
+    }
+
+    @Override
+    public ObjectDoubleMap<String> getTotalOrderValuesByCity()
+    {
+        return this.totalOrderValuesByCity.asUnmodifiable();
+    }
+
+    @Override
+    public IntDoubleMap getTotalOrderValuesByItemId()
+    {
+        return this.totalOrderValuesByItemId.asUnmodifiable();
+    }
+
+    @Override
+    public ObjectDoubleMap<String> getTotalOrderValuesByItem()
+    {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        MutableObjectDoubleMap<String> totalOrderValuesByItem = ObjectDoubleHashMap.newMap();
+        this.totalOrderValuesByItemId.forEachKeyValue((itemId, value) ->
+                totalOrderValuesByItem.put(catalog.getName(itemId), value));
+        return totalOrderValuesByItem;
+    }
+}
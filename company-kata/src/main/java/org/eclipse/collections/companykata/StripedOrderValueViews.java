@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.map.primitive.IntDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableIntDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableIntLongMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntLongHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+
+/**
+ * {@link OrderValueViews} which many threads can update at once. The totals are split into stripes, each a
+ * {@link SerialOrderValueViews} guarded by its own monitor, and every update for a customer goes to the same stripe,
+ * so an item only leaves a stripe once the lines that added it there are renamed. Reading merges the stripes into new
+ * maps, so the views returned are copies rather than live views. The floating-point totals and the fixed-point cents
+ * are merged separately and only added together at the end, so the fixed-point part stays exact.
+ */
+class StripedOrderValueViews implements OrderValueViews
+{
+    private final SerialOrderValueViews[] stripes;
+    private final int mask;
+
+    StripedOrderValueViews(int minimumStripeCount)
+    {
+        int stripeCount = Integer.highestOneBit(Math.max(1, minimumStripeCount - 1)) << 1;
+        this.stripes = new SerialOrderValueViews[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+        {
+            this.stripes[i] = new SerialOrderValueViews();
+        }
+        this.mask = stripeCount - 1;
+    }
+
+    private SerialOrderValueViews stripeOf(Customer customer)
+    {
+        int hash = System.identityHashCode(customer);
+        return this.stripes[(hash ^ (hash >>> 16)) & this.mask];
+    }
+
+    @Override
+    public void customerAdded(Customer customer)
+    {
+        SerialOrderValueViews stripe = this.stripeOf(customer);
+        synchronized (stripe)
+        {
+            stripe.customerAdded(customer);
+        }
+    }
+
+    @Override
+    public void orderAdded(Customer customer, Order order)
+    {
+        SerialOrderValueViews stripe = this.stripeOf(customer);
+        synchronized (stripe)
+        {
+            stripe.orderAdded(customer, order);
+        }
+    }
+
+    @Override
+    public void lineItemAdded(Customer customer, int itemId, double value, boolean merged, boolean fixedPoint)
+    {
+        SerialOrderValueViews stripe = this.stripeOf(customer);
+        synchronized (stripe)
+        {
+            stripe.lineItemAdded(customer, itemId, value, merged, fixedPoint);
+        }
+    }
+
+    @Override
+    public void lineItemChanged(
+            Customer customer,
+            int oldItemId,
+            double oldValue,
+            int newItemId,
+            double newValue,
+            boolean fixedPoint)
+    {
+        SerialOrderValueViews stripe = this.stripeOf(customer);
+        synchronized (stripe)
+        {
+            stripe.lineItemChanged(customer, oldItemId, oldValue, newItemId, newValue, fixedPoint);
+        }
+    }
+
+    /**
+     * Looks the item up in one stripe at a time, without merging them.
+     */
+    @Override
+    public boolean containsItem(int itemId)
+    {
+        for (SerialOrderValueViews stripe : this.stripes)
+        {
+            synchronized (stripe)
+            {
+                if (stripe.containsItem(itemId))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public ObjectDoubleMap<String> getTotalOrderValuesByCity()
+    {
+        MutableObjectDoubleMap<String> totalsByCity = ObjectDoubleHashMap.newMap();
+        MutableObjectLongMap<String> centsByCity = ObjectLongHashMap.newMap();
+        for (SerialOrderValueViews stripe : this.stripes)
+        {
+            synchronized (stripe)
+            {
+                stripe.addTotalsByCityTo(totalsByCity, centsByCity);
+            }
+        }
+        centsByCity.forEachKeyValue((city, cents) -> totalsByCity.addToValue(city, Money.toDouble(cents)));
+        return totalsByCity;
+    }
+
+    @Override
+    public IntDoubleMap getTotalOrderValuesByItemId()
+    {
+        MutableIntDoubleMap totalsByItemId = new IntDoubleHashMap();
+        MutableIntLongMap centsByItemId = new IntLongHashMap();
+        for (SerialOrderValueViews stripe : this.stripes)
+        {
+            synchronized (stripe)
+            {
+                stripe.addTotalsByItemIdTo(totalsByItemId, centsByItemId);
+            }
+        }
+        centsByItemId.forEachKeyValue((itemId, cents) -> totalsByItemId.addToValue(itemId, Money.toDouble(cents)));
+        return totalsByItemId;
+    }
+
+    @Override
+    public ObjectDoubleMap<String> getTotalOrderValuesByItem()
+    {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        MutableObjectDoubleMap<String> totalsByItem = ObjectDoubleHashMap.newMap();
+        this.getTotalOrderValuesByItemId().forEachKeyValue((itemId, value) ->
+                totalsByItem.put(catalog.getName(itemId), value));
+        return totalsByItem;
+    }
+}
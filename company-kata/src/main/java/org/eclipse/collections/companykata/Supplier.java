@@ -11,20 +11,27 @@
 package org.eclipse.collections.companykata;
 
 import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
 
 /**
- * Suppliers have a name and an array of itemNames.
+ * Suppliers have a name and a list of item ids from the {@link ItemCatalog}.
  */
 public class Supplier
 {
     private final String name;
-    // Refactor to an ImmutableList<String>
-    private final String[] itemNames;
+    private final ImmutableIntList itemIds;
 
     public Supplier(String name, String[] itemNames)
     {
         this.name = name;
-        this.itemNames = itemNames;
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        int[] ids = new int[itemNames.length];
+        for (int i = 0; i < itemNames.length; i++)
+        {
+            ids[i] = catalog.getId(itemNames[i]);
+        }
+        this.itemIds = IntLists.immutable.with(ids);
     }
 
     public String getName()
@@ -32,8 +39,22 @@ public class Supplier
         return this.name;
     }
 
+    /**
+     * Returns a new array with the names of the items this supplier supplies.
+     */
     public String[] getItemNames()
     {
-        return this.itemNames;
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        String[] itemNames = new String[this.itemIds.size()];
+        for (int i = 0; i < itemNames.length; i++)
+        {
+            itemNames[i] = catalog.getName(this.itemIds.get(i));
+        }
+        return itemNames;
+    }
+
+    public ImmutableIntList getItemIds()
+    {
+        return this.itemIds;
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.multimap.list.ListMultimap;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.impl.multimap.list.FastListMultimap;
+
+/**
+ * The {@link Supplier}s of a {@link Company} in the order they were added, with an index from {@link ItemCatalog} id
+ * to the suppliers of that item. All methods synchronize on the registry, so a concurrent company can add and read
+ * suppliers from several threads.
+ */
+class SupplierRegistry
+{
+    private static final Supplier[] NO_SUPPLIERS = new Supplier[0];
+
+    private final MutableList<Supplier> suppliers = FastList.newList();
+    private final MutableIntObjectMap<MutableList<Supplier>> suppliersByItemId = IntObjectHashMap.newMap();
+    private Supplier[] supplierArray = NO_SUPPLIERS;
+
+    public synchronized void add(Supplier supplier)
+    {
+        this.suppliers.add(supplier);
+        this.supplierArray = null;
+        ImmutableIntList itemIds = supplier.getItemIds();
+        for (int i = 0; i < itemIds.size(); i++)
+        {
+            MutableList<Supplier> suppliersOfItem = this.suppliersByItemId.getIfAbsentPut(itemIds.get(i), FastList::new);
+            if (suppliersOfItem.isEmpty() || suppliersOfItem.getLast() != supplier)
+            {
+                suppliersOfItem.add(supplier);
+            }
+        }
+    }
+
+    /**
+     * Returns a new array of the suppliers. The array is cloned from one which is rebuilt from the list only on the
+     * first call after an add, so callers may change the array returned without affecting the registry.
+     */
+    public synchronized Supplier[] toArray()
+    {
+        if (this.supplierArray == null)
+        {
+            this.supplierArray = this.suppliers.toArray(new Supplier[this.suppliers.size()]);
+        }
+        return this.supplierArray.clone();
+    }
+
+    public synchronized MutableList<Supplier> getSuppliersOf(int itemId)
+    {
+        MutableList<Supplier> suppliersOfItem = this.suppliersByItemId.get(itemId);
+        return suppliersOfItem == null ? Lists.mutable.empty() : suppliersOfItem.asUnmodifiable();
+    }
+
+    /**
+     * Builds a multimap from item name to suppliers out of the id index.
+     */
+    public synchronized ListMultimap<String, Supplier> getSuppliersByItemName()
+    {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        MutableListMultimap<String, Supplier> suppliersByItemName = FastListMultimap.newMultimap();
+        this.suppliersByItemId.forEachKeyValue((itemId, suppliersOfItem) ->
+                suppliersByItemName.putAll(catalog.getName(itemId), suppliersOfItem));
+        return suppliersByItemName;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.impl.parallel.AbstractProcedureCombiner;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+
+/**
+ * Finds the customers with the highest total order values in parallel with {@link ParallelIterate}. Each task keeps
+ * its own {@link CustomerValueHeap} of k customers, and the heaps are merged at the end, which takes O(n log k) time.
+ */
+final class TopCustomers
+{
+    private static final int MIN_FORK_SIZE = 10_000;
+
+    private TopCustomers()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static CustomerValueHeap byValue(Iterable<Customer> customers, int k)
+    {
+        TopCustomersCombiner combiner = new TopCustomersCombiner(k);
+        ParallelIterate.forEach(
+                customers,
+                () -> new TopCustomersProcedure(k),
+                combiner,
+                MIN_FORK_SIZE,
+                ParallelIterate.getDefaultTaskCount());
+        return combiner.heap;
+    }
+
+    private static final class TopCustomersProcedure implements Procedure<Customer>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final CustomerValueHeap heap;
+
+        private TopCustomersProcedure(int k)
+        {
+            this.heap = new CustomerValueHeap(k);
+        }
+
+        @Override
+        public void value(Customer customer)
+        {
+            double value = customer.getTotalOrderValue();
+            if (!this.heap.isFull() || value > this.heap.minimum())
+            {
+                this.heap.offer(customer, value);
+            }
+        }
+    }
+
+    private static final class TopCustomersCombiner extends AbstractProcedureCombiner<TopCustomersProcedure>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final CustomerValueHeap heap;
+
+        private TopCustomersCombiner(int k)
+        {
+            super(false);
+            this.heap = new CustomerValueHeap(k);
+        }
+
+        @Override
+        public void combineAll(Iterable<TopCustomersProcedure> procedures)
+        {
+            for (TopCustomersProcedure procedure : procedures)
+            {
+                this.combineOne(procedure);
+            }
+        }
+
+        @Override
+        public void combineOne(TopCustomersProcedure procedure)
+        {
+            this.heap.addAll(procedure.heap);
+        }
+    }
+}
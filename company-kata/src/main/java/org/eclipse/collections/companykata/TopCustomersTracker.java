@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.list.MutableList;
+
+/**
+ * Keeps the k customers of a {@link Company} with the highest total order values up to date as customers, orders and
+ * line items are added, see {@link Company#trackTopCustomersByValue(int)}.
+ * <p/>
+ * An increase which does not beat the lowest value in the top k is ignored without locking, so most updates cost a
+ * volatile read. When the value of a customer in the top k drops below the others, for example when a line item is
+ * changed, the tracker cannot tell which customer takes its place, so the top k is found again from all customers the
+ * next time it is read.
+ */
+public final class TopCustomersTracker
+{
+    private final Company company;
+    private final int k;
+    private CustomerValueHeap heap;
+    private boolean stale = true;
+    private volatile double threshold = Double.NEGATIVE_INFINITY;
+
+    TopCustomersTracker(Company company, int k)
+    {
+        if (k < 1)
+        {
+            throw new IllegalArgumentException("Invalid number of customers " + k);
+        }
+        this.company = company;
+        this.k = k;
+    }
+
+    /**
+     * Returns the customers with the highest total order values, from the highest to the lowest.
+     */
+    public synchronized MutableList<Customer> getTopCustomers()
+    {
+        if (this.stale)
+        {
+            this.heap = TopCustomers.byValue(this.company.getCustomers(), this.k);
+            this.stale = false;
+            this.updateThreshold();
+        }
+        return this.heap.toSortedList();
+    }
+
+    /**
+     * Called after the total order value of the customer went up, or the customer was added to the company.
+     */
+    void valueIncreased(Customer customer)
+    {
+        if (customer.getTotalOrderValue() > this.threshold)
+        {
+            this.valueChanged(customer);
+        }
+    }
+
+    /**
+     * Called after the total order value of the customer changed in any way.
+     */
+    synchronized void valueChanged(Customer customer)
+    {
+        if (!this.stale)
+        {
+            this.stale = !this.heap.offer(customer, customer.getTotalOrderValue());
+            this.updateThreshold();
+        }
+    }
+
+    private void updateThreshold()
+    {
+        // while stale, every change takes the lock, so none is missed by a lookup in progress
+        this.threshold = this.stale || !this.heap.isFull() ? Double.NEGATIVE_INFINITY : this.heap.minimum();
+    }
+}
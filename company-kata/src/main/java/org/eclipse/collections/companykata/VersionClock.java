@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hands out the version that appends to a {@link Company} are tagged with. Writers hold the read lock of one stripe,
+ * picked by thread, from reading the version until their append is complete, so they never wait for each other.
+ * {@link #advance()} takes every stripe exclusively for a moment, so once it returns, every append tagged with the
+ * version it returns is complete, and every later append is tagged with a newer version.
+ */
+final class VersionClock
+{
+    private final ReentrantReadWriteLock[] stripes;
+    private final int mask;
+    private volatile long version = 1L;
+
+    VersionClock(int minimumStripeCount)
+    {
+        int stripeCount = Integer.highestOneBit(Math.max(1, minimumStripeCount - 1)) << 1;
+        this.stripes = new ReentrantReadWriteLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+        {
+            this.stripes[i] = new ReentrantReadWriteLock();
+        }
+        this.mask = stripeCount - 1;
+    }
+
+    private ReentrantReadWriteLock stripeOfCurrentThread()
+    {
+        long id = Thread.currentThread().getId();
+        return this.stripes[(int) (id ^ (id >>> 32)) & this.mask];
+    }
+
+    /**
+     * Returns the version to tag an append with. Must be followed by {@link #endWrite()} on the same thread.
+     */
+    long beginWrite()
+    {
+        this.stripeOfCurrentThread().readLock().lock();
+        return this.version;
+    }
+
+    void endWrite()
+    {
+        this.stripeOfCurrentThread().readLock().unlock();
+    }
+
+    /**
+     * Waits for the appends in progress, then starts a new version and returns the one before it.
+     */
+    long advance()
+    {
+        for (ReentrantReadWriteLock stripe : this.stripes)
+        {
+            stripe.writeLock().lock();
+        }
+        try
+        {
+            long current = this.version;
+            this.version = current + 1L;
+            return current;
+        }
+        finally
+        {
+            for (int i = this.stripes.length - 1; i >= 0; i--)
+            {
+                this.stripes[i].writeLock().unlock();
+            }
+        }
+    }
+}
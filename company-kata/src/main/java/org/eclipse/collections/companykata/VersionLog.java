@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+
+/**
+ * Remembers how long an append-only list was at the end of each version in which it grew. Versions are recorded in
+ * increasing order, as a {@link VersionClock} hands them out, with version 0 for appends made before the list
+ * belonged to a {@link Company}. Writes must be serialized by the caller; reads need no locking.
+ */
+final class VersionLog
+{
+    private static final long[] EMPTY = {};
+
+    // pairs of version and size
+    private volatile long[] entries = EMPTY;
+    private volatile int count;
+
+    void record(long version, int size)
+    {
+        int n = this.count;
+        long[] current = this.entries;
+        if (n > 0 && current[(n - 1) << 1] == version)
+        {
+            current[((n - 1) << 1) + 1] = size;
+            return;
+        }
+        if (n << 1 == current.length)
+        {
+            current = Arrays.copyOf(current, Math.max(2, current.length << 1));
+            this.entries = current;
+        }
+        current[n << 1] = version;
+        current[(n << 1) + 1] = size;
+        this.count = n + 1;
+    }
+
+    /**
+     * Returns the version of the last append, or -1 if nothing has been appended.
+     */
+    long lastVersion()
+    {
+        int n = this.count;
+        return n == 0 ? -1L : this.entries[(n - 1) << 1];
+    }
+
+    /**
+     * Returns the size of the list as of the end of the version given.
+     */
+    int sizeAt(long version)
+    {
+        int n = this.count;
+        long[] current = this.entries;
+        int low = 0;
+        int high = n - 1;
+        int found = -1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            if (current[middle << 1] <= version)
+            {
+                found = middle;
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return found == -1 ? 0 : (int) current[(found << 1) + 1];
+    }
+}
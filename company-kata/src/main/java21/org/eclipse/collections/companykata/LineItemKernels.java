@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+/**
+ * The reductions over columns of line item prices and quantities which {@link ColumnarLineItemStore} uses. This is the
+ * Java 21 version, which runs {@link VectorLineItemKernels} when the jdk.incubator.vector module has been added to the
+ * JVM with {@code --add-modules jdk.incubator.vector}, and {@link ScalarLineItemKernels} otherwise. Vector sums add the
+ * prices in a different order from the loops, so they may differ from them in the last bits.
+ */
+final class LineItemKernels
+{
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private LineItemKernels()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static boolean isVectorized()
+    {
+        return VECTORIZED;
+    }
+
+    static double sum(double[] prices, int count)
+    {
+        return VECTORIZED
+                ? VectorLineItemKernels.sum(prices, count)
+                : ScalarLineItemKernels.sum(prices, count);
+    }
+
+    static double sumOfProducts(double[] prices, int[] quantities, int count)
+    {
+        return VECTORIZED
+                ? VectorLineItemKernels.sumOfProducts(prices, quantities, count)
+                : ScalarLineItemKernels.sumOfProducts(prices, quantities, count);
+    }
+
+    static double sumWhere(int[] itemIds, int itemId, double[] prices, int[] quantities, int count)
+    {
+        return VECTORIZED
+                ? VectorLineItemKernels.sumWhere(itemIds, itemId, prices, quantities, count)
+                : ScalarLineItemKernels.sumWhere(itemIds, itemId, prices, quantities, count);
+    }
+
+    static double min(double[] prices, int count)
+    {
+        return VECTORIZED
+                ? VectorLineItemKernels.min(prices, count)
+                : ScalarLineItemKernels.min(prices, count);
+    }
+
+    static double max(double[] prices, int count)
+    {
+        return VECTORIZED
+                ? VectorLineItemKernels.max(prices, count)
+                : ScalarLineItemKernels.max(prices, count);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The reductions of {@link ScalarLineItemKernels} written with the Vector API. Each loop works on as many prices as
+ * fit in the preferred vector size of the CPU, keeping one partial result per lane, and finishes the rows which do
+ * not fill a vector with the scalar loop. Quantities and item ids are loaded into int vectors of half that size, so
+ * they have as many lanes as the prices.
+ */
+final class VectorLineItemKernels
+{
+    private static final VectorSpecies<Double> PRICES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(PRICES.vectorBitSize() / 2));
+
+    private VectorLineItemKernels()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static double sum(double[] prices, int count)
+    {
+        int bound = PRICES.loopBound(count);
+        DoubleVector sums = DoubleVector.zero(PRICES);
+        int i = 0;
+        for (; i < bound; i += PRICES.length())
+        {
+            sums = sums.add(DoubleVector.fromArray(PRICES, prices, i));
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < count; i++)
+        {
+            sum += prices[i];
+        }
+        return sum;
+    }
+
+    static double sumOfProducts(double[] prices, int[] quantities, int count)
+    {
+        int bound = PRICES.loopBound(count);
+        DoubleVector sums = DoubleVector.zero(PRICES);
+        int i = 0;
+        for (; i < bound; i += PRICES.length())
+        {
+            DoubleVector values = DoubleVector.fromArray(PRICES, prices, i);
+            sums = sums.add(values.mul(VectorLineItemKernels.quantitiesAt(quantities, i)));
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < count; i++)
+        {
+            sum += prices[i] * quantities[i];
+        }
+        return sum;
+    }
+
+    static double sumWhere(int[] itemIds, int itemId, double[] prices, int[] quantities, int count)
+    {
+        int bound = PRICES.loopBound(count);
+        DoubleVector sums = DoubleVector.zero(PRICES);
+        int i = 0;
+        for (; i < bound; i += PRICES.length())
+        {
+            VectorMask<Double> matches =
+                    IntVector.fromArray(INTS, itemIds, i).compare(VectorOperators.EQ, itemId).cast(PRICES);
+            DoubleVector values = DoubleVector.fromArray(PRICES, prices, i);
+            if (quantities != null)
+            {
+                values = values.mul(VectorLineItemKernels.quantitiesAt(quantities, i));
+            }
+            sums = sums.add(values, matches);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < count; i++)
+        {
+            if (itemIds[i] == itemId)
+            {
+                sum += quantities == null ? prices[i] : prices[i] * quantities[i];
+            }
+        }
+        return sum;
+    }
+
+    static double min(double[] prices, int count)
+    {
+        int bound = PRICES.loopBound(count);
+        DoubleVector mins = DoubleVector.broadcast(PRICES, Double.POSITIVE_INFINITY);
+        int i = 0;
+        for (; i < bound; i += PRICES.length())
+        {
+            mins = mins.min(DoubleVector.fromArray(PRICES, prices, i));
+        }
+        double min = mins.reduceLanes(VectorOperators.MIN);
+        for (; i < count; i++)
+        {
+            min = Math.min(min, prices[i]);
+        }
+        return min;
+    }
+
+    static double max(double[] prices, int count)
+    {
+        int bound = PRICES.loopBound(count);
+        DoubleVector maxes = DoubleVector.broadcast(PRICES, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        for (; i < bound; i += PRICES.length())
+        {
+            maxes = maxes.max(DoubleVector.fromArray(PRICES, prices, i));
+        }
+        double max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < count; i++)
+        {
+            max = Math.max(max, prices[i]);
+        }
+        return max;
+    }
+
+    private static DoubleVector quantitiesAt(int[] quantities, int i)
+    {
+        return (DoubleVector) IntVector.fromArray(INTS, quantities, i).convertShape(VectorOperators.I2D, PRICES, 0);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the order value aggregations allocate nothing, using the allocated bytes counter of the current thread.
+ */
+public class AllocationTest extends CompanyDomainForKata
+{
+    private static final int ITERATIONS = 10_000;
+    private static final int ROUNDS = 5;
+
+    private ThreadMXBean threadMXBean;
+    private double sink;
+
+    @Before
+    public void setUpThreadMXBean()
+    {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof ThreadMXBean);
+        this.threadMXBean = (ThreadMXBean) bean;
+        Assume.assumeTrue(this.threadMXBean.isThreadAllocatedMemorySupported());
+        this.threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void companyTotalOrderValue()
+    {
+        Assert.assertEquals(1303.25, this.company.getTotalOrderValue(), 0.0);
+        this.assertNoAllocation(() -> this.sink += this.company.getTotalOrderValue());
+    }
+
+    @Test
+    public void customerTotalOrderValue()
+    {
+        Customer bill = this.company.getMostRecentCustomer();
+        this.assertNoAllocation(() -> this.sink += bill.getTotalOrderValue());
+        this.assertNoAllocation(() ->
+        {
+            bill.refreshTotalOrderValue();
+            this.sink += bill.getTotalOrderValue();
+        });
+    }
+
+    @Test
+    public void orderValue()
+    {
+        Order order = this.company.getMostRecentCustomer().getOrders().get(0);
+        this.assertNoAllocation(() -> this.sink += order.getValue());
+        this.assertNoAllocation(() -> this.sink += order.getValueOf("gnome"));
+    }
+
+    @Test
+    public void columnarOrderValue()
+    {
+        Order order = Order.columnar();
+        for (int i = 0; i < 100; i++)
+        {
+            order.addLineItem(new LineItem("gnome", 7.5));
+        }
+        this.assertNoAllocation(() -> this.sink += order.getValue());
+        this.assertNoAllocation(() -> this.sink += order.getValueOf("gnome"));
+    }
+
+    private void assertNoAllocation(Runnable runnable)
+    {
+        long overhead = this.allocatedBytes(() -> { });
+        long allocated = this.allocatedBytes(runnable);
+        Assert.assertTrue("allocated " + (allocated - overhead) + " bytes", allocated <= overhead);
+    }
+
+    /**
+     * Returns the fewest bytes allocated over a few rounds, so that one-off allocations while the code is being
+     * compiled do not count.
+     */
+    private long allocatedBytes(Runnable runnable)
+    {
+        long threadId = Thread.currentThread().getId();
+        long fewest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++)
+        {
+            long before = this.threadMXBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ITERATIONS; i++)
+            {
+                runnable.run();
+            }
+            fewest = Math.min(fewest, this.threadMXBean.getThreadAllocatedBytes(threadId) - before);
+        }
+        return fewest;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompanyAnalyticsTest extends CompanyDomainForKata
+{
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void totalOrderValuesByCity()
+    {
+        ObjectDoubleMap<String> map = new CompanyAnalytics(this.company, this.executor, 1, 3).totalOrderValuesByCity();
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(446.25, map.get("London"), 0.0);
+        Assert.assertEquals(857.0, map.get("Liphook"), 0.0);
+    }
+
+    @Test
+    public void totalOrderValuesByItem()
+    {
+        ObjectDoubleMap<String> map = new CompanyAnalytics(this.company, this.executor, 1, 3).totalOrderValuesByItem();
+        Assert.assertEquals(12, map.size());
+        Assert.assertEquals(100.0, map.get("shed"), 0.0);
+        Assert.assertEquals(10.5, map.get("cup"), 0.0);
+    }
+
+    @Test
+    public void totalOrderValuesByCustomer()
+    {
+        ObjectDoubleMap<String> map = new CompanyAnalytics(this.company, this.executor).totalOrderValuesByCustomer();
+        Assert.assertEquals(71.0, map.get("Fred"), 0.0);
+        Assert.assertEquals(375.25, map.get("Bill"), 0.0);
+    }
+
+    @Test
+    public void parallelReportsMatchSerialReports()
+    {
+        Company bigCompany = new Company("Big Shed Supplies");
+        String[] cities = {"London", "Liphook", "Leeds", "York"};
+        String[] items = {"shed", "cup", "saucer", "gnome", "sofa", "table", "chair"};
+        for (int i = 0; i < 20_000; i++)
+        {
+            Customer customer = new Customer("Customer " + i, cities[i % cities.length]);
+            Order order = (i & 1) == 0 ? new Order() : Order.columnar();
+            for (int j = 0; j < 5; j++)
+            {
+                order.addLineItem(new LineItem(items[(i + j) % items.length], (i % 97) * 0.25 + j));
+            }
+            customer.addOrder(order);
+            bigCompany.addCustomer(customer);
+        }
+
+        CompanyAnalytics analytics = new CompanyAnalytics(bigCompany, this.executor, 1_000, 16);
+
+        assertEquals(
+                bigCompany.getCustomers().sumByDouble(Customer::getCity, Customer::getTotalOrderValue),
+                analytics.totalOrderValuesByCity());
+        assertEquals(
+                bigCompany.getCustomers()
+                        .flatCollect(Customer::getOrders)
+                        .flatCollect(Order::getLineItems)
+                        .sumByDouble(LineItem::getName, LineItem::getValue),
+                analytics.totalOrderValuesByItem());
+    }
+
+    @Test
+    public void reportsInCentsAreTheSameHoweverCustomersAreSplit()
+    {
+        Company bigCompany = new Company("Big Shed Supplies");
+        String[] cities = {"London", "Liphook", "Leeds", "York"};
+        String[] items = {"shed", "cup", "saucer", "gnome", "sofa", "table", "chair"};
+        for (int i = 0; i < 20_000; i++)
+        {
+            Customer customer = new Customer("Customer " + i, cities[i % cities.length]);
+            Order order = Order.fixedPoint();
+            for (int j = 0; j < 5; j++)
+            {
+                order.addLineItem(items[(i + j) % items.length], (i % 97 + 100 * j) / 100.0, 1 + j);
+            }
+            customer.addOrder(order);
+            bigCompany.addCustomer(customer);
+        }
+
+        CompanyAnalytics serial = new CompanyAnalytics(bigCompany, this.executor, Integer.MAX_VALUE, 1);
+        CompanyAnalytics parallel = new CompanyAnalytics(bigCompany, this.executor, 1_000, 16);
+
+        Assert.assertEquals(serial.totalOrderValuesInCentsByCity(), parallel.totalOrderValuesInCentsByCity());
+        Assert.assertEquals(serial.totalOrderValuesInCentsByItem(), parallel.totalOrderValuesInCentsByItem());
+        Assert.assertEquals(
+                bigCompany.getOrders().sumOfLong(Order::getValueInCents),
+                parallel.totalOrderValuesInCentsByCity().sum());
+    }
+
+    @Test
+    public void totalOrderValuesInCentsByCity()
+    {
+        CompanyAnalytics analytics = new CompanyAnalytics(this.company, this.executor, 1, 3);
+        Assert.assertEquals(44_625L, analytics.totalOrderValuesInCentsByCity().get("London"));
+        Assert.assertEquals(10_000L, analytics.totalOrderValuesInCentsByItem().get("shed"));
+    }
+
+    private static void assertEquals(ObjectDoubleMap<String> expected, ObjectDoubleMap<String> actual)
+    {
+        Assert.assertEquals(expected.keySet(), actual.keySet());
+        expected.forEachKeyValue((key, value) -> Assert.assertEquals(key, value, actual.get(key), 1.0e-6));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CompanyBinaryFormatTest extends CompanyDomainForKata
+{
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTrip() throws IOException
+    {
+        Order columnarOrder = Order.columnar();
+        columnarOrder.addLineItem(new LineItem("gnome", 7.5));
+        columnarOrder.addLineItem(new LineItem("pond", 25.0));
+        columnarOrder.addLineItem("cup", 1.5, 4);
+        this.company.getCustomerNamed("Mary").addOrder(columnarOrder);
+        Order fixedPointOrder = Order.fixedPoint();
+        fixedPointOrder.addLineItem("saucer", 0.07, 3);
+        this.company.getCustomerNamed("Fred").addOrder(fixedPointOrder);
+        this.company.getCustomerNamed("Bill").getOrders().get(1).deliver();
+
+        Path path = this.folder.newFile("company.bin").toPath();
+        CompanyBinaryFormat.write(this.company, path);
+        Company copy = CompanyBinaryFormat.read(path);
+
+        Assert.assertEquals(this.company.getName(), copy.getName());
+        Assert.assertEquals(this.company.getTotalOrderValue(), copy.getTotalOrderValue(), 0.0);
+        Assert.assertEquals(this.company.getTotalOrderValuesByCity(), copy.getTotalOrderValuesByCity());
+        Assert.assertEquals(this.company.getTotalOrderValuesByItem(), copy.getTotalOrderValuesByItem());
+        Assert.assertEquals(
+                this.company.getCustomers().collect(Customer::getName),
+                copy.getCustomers().collect(Customer::getName));
+        Assert.assertEquals(
+                this.company.getCustomers().collect(Customer::getCity),
+                copy.getCustomers().collect(Customer::getCity));
+        for (int i = 0; i < this.company.getCustomers().size(); i++)
+        {
+            List<Order> orders = this.company.getCustomers().get(i).getOrders();
+            List<Order> copiedOrders = copy.getCustomers().get(i).getOrders();
+            Assert.assertEquals(orders.size(), copiedOrders.size());
+            for (int j = 0; j < orders.size(); j++)
+            {
+                Order order = orders.get(j);
+                Order copiedOrder = copiedOrders.get(j);
+                Assert.assertEquals(order.isColumnar(), copiedOrder.isColumnar());
+                Assert.assertEquals(order.isFixedPoint(), copiedOrder.isFixedPoint());
+                Assert.assertEquals(order.isDelivered(), copiedOrder.isDelivered());
+                Assert.assertEquals(order.getLineItems().toString(), copiedOrder.getLineItems().toString());
+                Assert.assertEquals(order.getValue(), copiedOrder.getValue(), 0.0);
+            }
+        }
+        Assert.assertTrue(copy.getCustomerNamed("Mary").getOrders().get(1).isColumnar());
+
+        Assert.assertEquals(this.company.getSuppliers().length, copy.getSuppliers().length);
+        for (int i = 0; i < this.company.getSuppliers().length; i++)
+        {
+            Assert.assertEquals(this.company.getSuppliers()[i].getName(), copy.getSuppliers()[i].getName());
+            Assert.assertArrayEquals(
+                    this.company.getSuppliers()[i].getItemNames(),
+                    copy.getSuppliers()[i].getItemNames());
+        }
+    }
+
+    @Test
+    public void writesTheSnapshotGiven() throws IOException
+    {
+        CompanySnapshot snapshot = this.company.snapshot();
+        this.company.getCustomerNamed("Fred").getOrders().get(0).addLineItem(new LineItem("shed", 50.0));
+        this.company.addCustomer(new Customer("Pete", "Leeds"));
+
+        Path path = this.folder.newFile("snapshot.bin").toPath();
+        CompanyBinaryFormat.write(snapshot, path);
+        Company copy = CompanyBinaryFormat.read(path);
+
+        Assert.assertEquals(3, copy.getCustomers().size());
+        Assert.assertEquals(snapshot.getTotalOrderValue(), copy.getTotalOrderValue(), 0.0);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException
+    {
+        Path path = this.folder.newFile("other.bin").toPath();
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        CompanyBinaryFormat.read(path);
+    }
+
+    @Test
+    public void rejectsTruncatedFiles() throws IOException
+    {
+        Order fixedPointOrder = Order.fixedPoint();
+        fixedPointOrder.addLineItem("saucer", 0.07, 3);
+        this.company.getCustomerNamed("Fred").addOrder(fixedPointOrder);
+        Path path = this.folder.newFile("company.bin").toPath();
+        CompanyBinaryFormat.write(this.company, path);
+        byte[] bytes = Files.readAllBytes(path);
+
+        Path truncated = this.folder.newFile("truncated.bin").toPath();
+        for (int length = 0; length < bytes.length; length++)
+        {
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            try
+            {
+                CompanyBinaryFormat.read(truncated);
+                Assert.fail("Read a company from the first " + length + " of " + bytes.length + " bytes");
+            }
+            catch (IOException expected)
+            {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void rejectsInvalidCounts() throws IOException
+    {
+        Path path = this.folder.newFile("company.bin").toPath();
+        CompanyBinaryFormat.write(this.company, path);
+        byte[] bytes = Files.readAllBytes(path);
+
+        for (int count : new int[]{-1, Integer.MAX_VALUE})
+        {
+            // the size of the string dictionary follows the magic number and the format version
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(2 * Integer.BYTES, count);
+            Files.write(path, bytes);
+            try
+            {
+                CompanyBinaryFormat.read(path);
+                Assert.fail("Read a company with " + count + " strings");
+            }
+            catch (IOException expected)
+            {
+                Assert.assertEquals("Invalid count " + count + " in company file", expected.getMessage());
+            }
+        }
+    }
+}
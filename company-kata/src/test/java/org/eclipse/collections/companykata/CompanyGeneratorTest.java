@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.impl.utility.ListIterate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompanyGeneratorTest
+{
+    @Test
+    public void generate()
+    {
+        Company company = new CompanyGenerator(1L, 3000, 4, 5).generate();
+
+        MutableList<Customer> customers = company.getCustomers();
+        Assert.assertEquals(3000, customers.size());
+        Assert.assertEquals("Customer 2999", customers.getLast().getName());
+        Assert.assertTrue(customers.allSatisfy(customer -> customer.getOrders().size() == 4));
+        Assert.assertEquals(
+                3000L * 4L * 5L,
+                customers.flatCollect(Customer::getOrders).sumOfInt(order -> order.getLineItems().size()));
+        Assert.assertEquals(125, company.getSuppliers().length);
+        Assert.assertSame(customers.get(1234), company.getCustomerNamed("Customer 1234"));
+        Assert.assertEquals(
+                company.getTotalOrderValue(),
+                company.getTotalOrderValuesByCity().sum(),
+                company.getTotalOrderValue() * 1.0e-12);
+    }
+
+    @Test
+    public void sameSeedGivesSameCompany()
+    {
+        Company company = new CompanyGenerator(42L, 2500, 2, 3, 10, 50, 1.2).generate();
+        Company other = new CompanyGenerator(42L, 2500, 2, 3, 10, 50, 1.2).generate();
+        Company otherSeed = new CompanyGenerator(43L, 2500, 2, 3, 10, 50, 1.2).generate();
+
+        Assert.assertEquals(
+                company.getCustomers().collect(Customer::getCity),
+                other.getCustomers().collect(Customer::getCity));
+        Assert.assertEquals(company.getTotalOrderValuesByItem(), other.getTotalOrderValuesByItem());
+        Assert.assertNotEquals(company.getTotalOrderValuesByItem(), otherSeed.getTotalOrderValuesByItem());
+    }
+
+    @Test
+    public void itemsAreSkewed()
+    {
+        Company company = new CompanyGenerator(7L, 1000, 10, 10, 10, 100, 1.0).generate();
+        ObjectDoubleMap<String> cityValues = company.getTotalOrderValuesByCity();
+        MutableList<Order> orders = company.getCustomers().flatCollect(Customer::getOrders);
+        long sheds = orders.sumOfInt(order -> ListIterate.count(order.getLineItems(), this.named("shed")));
+        long lastItems = orders.sumOfInt(order -> ListIterate.count(order.getLineItems(), this.named("item 99")));
+
+        // the first of 100 items is drawn about 19% of the time and the last about 0.2%
+        Assert.assertTrue(sheds > 17_000 && sheds < 21_000);
+        Assert.assertTrue(lastItems < 500);
+        Assert.assertTrue(cityValues.get("City 0") > cityValues.get("City 9") * 4.0);
+    }
+
+    private Predicate<LineItem> named(String itemName)
+    {
+        return lineItem -> itemName.equals(lineItem.getName());
+    }
+}
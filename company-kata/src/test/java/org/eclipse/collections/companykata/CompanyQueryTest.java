@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompanyQueryTest extends CompanyDomainForKata
+{
+    @Test
+    public void customersFromACity()
+    {
+        Assert.assertEquals(
+                Lists.mutable.with("Fred", "Bill"),
+                this.company.query().inCity("London").customers().collect(Customer::getName).toList());
+        Assert.assertTrue(this.company.query().inCity("Paris").customers().isEmpty());
+    }
+
+    @Test
+    public void customersWhoOrderedAnItem()
+    {
+        Assert.assertEquals(
+                Lists.mutable.with("Fred", "Mary"),
+                this.company.query().ordering("saucer").customers().collect(Customer::getName).toList());
+        CompanyQuery londonSaucers = this.company.query().ordering("saucer").inCity("London");
+        Assert.assertEquals(Lists.mutable.with("Fred"), londonSaucers.customers().collect(Customer::getName).toList());
+        Assert.assertTrue(this.company.query().ordering("pond").customers().isEmpty());
+    }
+
+    @Test
+    public void itemsAreLookedUpInEveryStripe()
+    {
+        for (Company company : new Company[]{new Company("Serial"), Company.concurrent("Striped")})
+        {
+            Assert.assertTrue(company.query().ordering("pond").customers().isEmpty());
+            for (int i = 0; i < 64; i++)
+            {
+                company.addCustomer(new Customer("Customer " + i, "Leeds"));
+            }
+            Order order = new Order();
+            LineItem pond = new LineItem("pond", 25.0);
+            order.addLineItem(pond);
+            company.getCustomerNamed("Customer 37").addOrder(order);
+
+            Assert.assertEquals(
+                    Lists.mutable.with("Customer 37"),
+                    company.query().ordering("pond").customers().collect(Customer::getName).toList());
+            pond.setName("big pond");
+            Assert.assertTrue(company.query().ordering("pond").customers().isEmpty());
+            Assert.assertEquals(1, company.query().ordering("big pond").orders().size());
+        }
+    }
+
+    @Test
+    public void customersByNameAndValue()
+    {
+        Assert.assertEquals(1, this.company.query().named("Fred").customers().size());
+        Assert.assertTrue(this.company.query().named("Fred").inCity("Liphook").customers().isEmpty());
+        Assert.assertEquals(
+                Lists.mutable.with("Mary", "Bill"),
+                this.company.query().valueBetween(100.0, 1000.0).customers().collect(Customer::getName).toList());
+    }
+
+    @Test
+    public void ordersOverAValue()
+    {
+        Assert.assertEquals(
+                Lists.mutable.with(857.0, 372.5),
+                this.company.query().valueBetween(100.0, Double.MAX_VALUE).orders().collect(Order::getValue).toList());
+        Assert.assertEquals(2, this.company.query().inCity("London").valueBetween(1.5, 100.0).orders().size());
+        Assert.assertEquals(
+                Lists.mutable.with(1.0),
+                this.company.query().named("Bill").ordering("table").orders().collect(Order::getValue).toList());
+    }
+
+    @Test
+    public void resultsAreLazy()
+    {
+        MutableList<Customer> leeds = Lists.mutable.empty();
+        this.company.query().inCity("Leeds").customers().forEach(leeds::add);
+        Assert.assertTrue(leeds.isEmpty());
+
+        this.company.addCustomer(new Customer("Pete", "Leeds"));
+        Assert.assertEquals(1, this.company.query().inCity("Leeds").customers().size());
+    }
+
+    @Test
+    public void parallelScanMatchesSerialScan()
+    {
+        Company bigCompany = new Company("Big Shed Supplies");
+        String[] items = {"shed", "cup", "saucer", "gnome", "sofa", "table", "chair"};
+        for (int i = 0; i < 20_000; i++)
+        {
+            Customer customer = new Customer("Customer " + i, "London");
+            Order order = (i & 1) == 0 ? new Order() : Order.columnar();
+            order.addLineItem(new LineItem(items[i % items.length], i % 97));
+            customer.addOrder(order);
+            bigCompany.addCustomer(customer);
+        }
+
+        MutableList<Customer> expected = bigCompany.getCustomers().select(customer ->
+                customer.getTotalOrderValue() >= 10.0
+                        && customer.getTotalOrderValue() <= 50.0
+                        && customer.getOrders().get(0).getValueOf("gnome") > 0.0);
+        Assert.assertEquals(
+                expected,
+                bigCompany.query().ordering("gnome").valueBetween(10.0, 50.0).customers().toList());
+        Assert.assertEquals(
+                expected.collect(customer -> customer.getOrders().get(0)),
+                bigCompany.query().ordering("gnome").valueBetween(10.0, 50.0).orders().toList());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.list.primitive.DoubleList;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.impl.factory.primitive.DoubleLists;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompanyReportCacheTest extends CompanyDomainForKata
+{
+    private static final CompanyReportCache.Key<String> SUPPLIERS = new CompanyReportCache.Key<>("suppliers");
+    private static final CompanyReportCache.Key<DoubleList> ORDER_VALUES = new CompanyReportCache.Key<>("orderValues");
+    private static final CompanyReportCache.Key<ObjectDoubleMap<String>> TOTALS_BY_CITY =
+            new CompanyReportCache.Key<>("totalsByCity");
+    private static final CompanyReportCache.Key<Double> LONDON = new CompanyReportCache.Key<>("london");
+
+    private static final Function<Company, String> SUPPLIER_NAMES =
+            company -> ArrayIterate.collect(company.getSuppliers(), Supplier::getName).makeString("~");
+    private static final Function<Company, DoubleList> SORTED_ORDER_VALUES =
+            company -> company.getOrders().collectDouble(Order::getValue).toSortedList();
+    private static final Function<Company, ObjectDoubleMap<String>> TOTAL_ORDER_VALUES_BY_CITY =
+            company -> company.getTotalOrderValuesByCity().toImmutable();
+
+    @Test
+    public void repeatedReportsAreHits()
+    {
+        CompanyReportCache cache = new CompanyReportCache(this.company, 4);
+        String names = cache.get(SUPPLIERS, SUPPLIER_NAMES);
+        Assert.assertSame(names, cache.get(SUPPLIERS, SUPPLIER_NAMES));
+        Assert.assertEquals(DoubleLists.mutable.with(1.0, 1.75, 71.0, 372.5, 857.0),
+                cache.get(ORDER_VALUES, SORTED_ORDER_VALUES));
+        Assert.assertEquals(1L, cache.getHitCount());
+        Assert.assertEquals(2L, cache.getMissCount());
+        Assert.assertEquals(1.0 / 3.0, cache.getHitRate(), 0.0);
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void additionsInvalidateCachedReports()
+    {
+        CompanyReportCache cache = new CompanyReportCache(this.company, 4);
+        Function<Company, Double> londonTotal = company -> company.getTotalOrderValuesByCity().get("London");
+        Assert.assertEquals(446.25, cache.get(LONDON, londonTotal), 0.0);
+
+        Customer jane = new Customer("Jane", "London");
+        this.company.addCustomer(jane);
+        Assert.assertEquals(446.25, cache.get(LONDON, londonTotal), 0.0);
+
+        Order order = new Order();
+        order.addLineItem(new LineItem("cup", 1.5));
+        jane.addOrder(order);
+        Assert.assertEquals(447.75, cache.get(LONDON, londonTotal), 0.0);
+
+        order.addLineItem(new LineItem("saucer", 2.0));
+        Assert.assertEquals(449.75, cache.get(LONDON, londonTotal), 0.0);
+        Assert.assertEquals(0L, cache.getHitCount());
+
+        String names = cache.get(SUPPLIERS, SUPPLIER_NAMES);
+        this.company.addSupplier(new Supplier("Gnomes R Us", new String[]{"gnome"}));
+        Assert.assertEquals(names + "~Gnomes R Us", cache.get(SUPPLIERS, SUPPLIER_NAMES));
+        Assert.assertEquals(0L, cache.getHitCount());
+        Assert.assertEquals(6L, cache.getMissCount());
+    }
+
+    @Test
+    public void deliveringOrdersDoesNotInvalidateReports()
+    {
+        long version = this.company.getModificationVersion();
+        this.company.deliverOrdersTo("London");
+        Assert.assertEquals(version, this.company.getModificationVersion());
+    }
+
+    @Test
+    public void leastRecentlyUsedReportIsEvicted()
+    {
+        CompanyReportCache cache = new CompanyReportCache(this.company, 2);
+        cache.get(SUPPLIERS, SUPPLIER_NAMES);
+        cache.get(ORDER_VALUES, SORTED_ORDER_VALUES);
+        cache.get(SUPPLIERS, SUPPLIER_NAMES);
+        cache.get(new CompanyReportCache.Key<>("total"), Company::getTotalOrderValue);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1L, cache.getEvictionCount());
+
+        cache.get(SUPPLIERS, SUPPLIER_NAMES);
+        Assert.assertEquals(2L, cache.getHitCount());
+        cache.get(ORDER_VALUES, SORTED_ORDER_VALUES);
+        Assert.assertEquals(2L, cache.getHitCount());
+        Assert.assertEquals(2L, cache.getEvictionCount());
+    }
+
+    @Test
+    public void reportsOfGenericTypesAreCached()
+    {
+        CompanyReportCache cache = new CompanyReportCache(this.company, 4);
+        ObjectDoubleMap<String> totalsByCity = cache.get(TOTALS_BY_CITY, TOTAL_ORDER_VALUES_BY_CITY);
+        Assert.assertSame(totalsByCity, cache.get(TOTALS_BY_CITY, TOTAL_ORDER_VALUES_BY_CITY));
+        Assert.assertEquals(this.company.getTotalOrderValuesByCity(), totalsByCity);
+
+        Order order = new Order();
+        order.addLineItem(new LineItem("cup", 1.5));
+        this.company.getCustomerNamed("Fred").addOrder(order);
+        ObjectDoubleMap<String> newTotalsByCity = cache.get(TOTALS_BY_CITY, TOTAL_ORDER_VALUES_BY_CITY);
+        Assert.assertEquals(totalsByCity.get("London") + 1.5, newTotalsByCity.get("London"), 0.0);
+        Assert.assertEquals(1L, cache.getHitCount());
+    }
+
+    @Test
+    public void keysWithTheSameNameAreDistinct()
+    {
+        CompanyReportCache cache = new CompanyReportCache(this.company, 4);
+        CompanyReportCache.Key<String> names = new CompanyReportCache.Key<>("report");
+        CompanyReportCache.Key<DoubleList> values = new CompanyReportCache.Key<>("report");
+        Assert.assertEquals(SUPPLIER_NAMES.valueOf(this.company), cache.get(names, SUPPLIER_NAMES));
+        Assert.assertEquals(SORTED_ORDER_VALUES.valueOf(this.company), cache.get(values, SORTED_ORDER_VALUES));
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals("report", names.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maximumSizeMustBePositive()
+    {
+        new CompanyReportCache(this.company, 0);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompanySnapshotTest extends CompanyDomainForKata
+{
+    @Test
+    public void snapshotDoesNotSeeLaterAppends()
+    {
+        CompanySnapshot snapshot = this.company.snapshot();
+        Customer fred = this.company.getCustomerNamed("Fred");
+        Order fredOrder = fred.getOrders().get(0);
+
+        fredOrder.addLineItem(new LineItem("shed", 50.0));
+        Order maryOrder = Order.columnar();
+        maryOrder.addLineItem(new LineItem("gnome", 7.5));
+        this.company.getCustomerNamed("Mary").addOrder(maryOrder);
+        maryOrder.addLineItem(new LineItem("gnome", 7.5));
+        this.company.addCustomer(new Customer("Pete", "Leeds"));
+
+        Assert.assertEquals(3, snapshot.getCustomers().size());
+        Assert.assertEquals(1303.25, snapshot.getTotalOrderValue(), 0.0);
+        Assert.assertEquals(71.0, snapshot.getValueOf(fredOrder), 0.0);
+        Assert.assertEquals(fredOrder.getLineItems().size() - 1, snapshot.getLineItemsOf(fredOrder).size());
+        Assert.assertEquals(1, snapshot.getOrdersOf(this.company.getCustomerNamed("Mary")).size());
+        Assert.assertEquals(5, snapshot.getOrders().size());
+
+        CompanySnapshot later = this.company.snapshot();
+        Assert.assertTrue(later.getVersion() > snapshot.getVersion());
+        Assert.assertEquals(4, later.getCustomers().size());
+        Assert.assertEquals(1368.25, later.getTotalOrderValue(), 0.0);
+        Assert.assertEquals(this.company.getTotalOrderValue(), later.getTotalOrderValue(), 0.0);
+        Assert.assertEquals(Lists.mutable.with(7.5, 7.5), later.getLineItemsOf(maryOrder).collect(LineItem::getValue));
+    }
+
+    @Test
+    public void linesInSnapshotsAreNotMergedInto()
+    {
+        Order order = Order.columnar();
+        order.addLineItem("gnome", 7.5, 2);
+        this.company.getCustomerNamed("Mary").addOrder(order);
+        order.addLineItem("gnome", 7.5, 1);
+        CompanySnapshot snapshot = this.company.snapshot();
+        order.addLineItem("gnome", 7.5, 4);
+
+        Assert.assertEquals(22.5, snapshot.getValueOf(order), 0.0);
+        Assert.assertEquals(Lists.mutable.with(2, 1), snapshot.getLineItemsOf(order).collect(LineItem::getQuantity));
+        Assert.assertEquals(52.5, order.getValue(), 0.0);
+        Assert.assertEquals(3, order.getLineItems().size());
+    }
+
+    @Test
+    public void snapshotsStayConsistentWhileWritersAppend() throws Exception
+    {
+        Company bigCompany = Company.concurrent("Big Shed Supplies");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+        {
+            MutableList<Future<?>> writers = Lists.mutable.empty();
+            for (int writer = 0; writer < 8; writer++)
+            {
+                int seed = writer;
+                writers.add(executor.submit(() ->
+                {
+                    for (int i = 0; i < 500; i++)
+                    {
+                        Customer customer = new Customer("Customer " + seed + "-" + i, "London");
+                        bigCompany.addCustomer(customer);
+                        for (int j = 0; j < 4; j++)
+                        {
+                            Order order = (j & 1) == 0 ? new Order() : Order.columnar();
+                            customer.addOrder(order);
+                            order.addLineItem(new LineItem("shed", 1.0));
+                            order.addLineItem(new LineItem("gnome", 0.5));
+                        }
+                    }
+                }));
+            }
+
+            MutableList<CompanySnapshot> snapshots = Lists.mutable.empty();
+            MutableList<Double> totalsWhenTaken = Lists.mutable.empty();
+            while (!writers.allSatisfy(Future::isDone))
+            {
+                CompanySnapshot snapshot = bigCompany.snapshot();
+                snapshots.add(snapshot);
+                totalsWhenTaken.add(snapshot.getTotalOrderValue());
+            }
+            for (Future<?> writer : writers)
+            {
+                writer.get(60L, TimeUnit.SECONDS);
+            }
+
+            for (int i = 0; i < snapshots.size(); i++)
+            {
+                Assert.assertEquals(totalsWhenTaken.get(i), snapshots.get(i).getTotalOrderValue(), 0.0);
+            }
+            Assert.assertEquals(8 * 500 * 4 * 1.5, bigCompany.snapshot().getTotalOrderValue(), 0.0);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompanyTest extends CompanyDomainForKata
+{
+    @Test
+    public void getCustomerNamed()
+    {
+        Assert.assertSame(this.company.getCustomers().get(1), this.company.getCustomerNamed("Mary"));
+        Assert.assertNull(this.company.getCustomerNamed("Pete"));
+    }
+
+    @Test
+    public void getCustomerNamedReturnsFirstCustomerWithTheName()
+    {
+        Customer fred = this.company.getCustomerNamed("Fred");
+        this.company.addCustomer(new Customer("Fred", "Liphook"));
+        Assert.assertSame(fred, this.company.getCustomerNamed("Fred"));
+    }
+
+    @Test
+    public void getCustomersNamed()
+    {
+        Assert.assertEquals(
+                Lists.mutable.with(this.company.getCustomerNamed("Bill"), this.company.getCustomerNamed("Fred")),
+                this.company.getCustomersNamed(Lists.mutable.with("Bill", "Pete", "Fred")));
+    }
+
+    @Test
+    public void getOrders()
+    {
+        MutableList<Order> orders = this.company.getOrders();
+        Assert.assertEquals(this.company.getCustomers().flatCollect(Customer::getOrders), orders);
+
+        orders.clear();
+        Assert.assertEquals(5, this.company.getOrders().size());
+    }
+
+    @Test
+    public void ordersView()
+    {
+        LazyIterable<Order> orders = this.company.ordersView();
+        Assert.assertEquals(5, orders.size());
+        Assert.assertEquals(1303.25, orders.sumOfDouble(Order::getValue), 0.0);
+        Assert.assertEquals(
+                Lists.mutable.with(71.0, 857.0, 372.5),
+                orders.select(order -> order.getValue() > 50.0).collect(Order::getValue).toList());
+        Assert.assertEquals(
+                this.company.getCustomers().flatCollect(Customer::getOrders),
+                Lists.mutable.withAll(orders));
+
+        Customer jane = new Customer("Jane", "Leeds");
+        jane.addOrder(new Order());
+        this.company.addCustomer(jane);
+        jane.addOrder(new Order());
+        this.company.getCustomerNamed("Fred").addOrder(new Order());
+        Assert.assertEquals(8, orders.size());
+        Assert.assertEquals(8, orders.count(order -> true));
+    }
+
+    @Test
+    public void customersByCity()
+    {
+        Customer fred = this.company.getCustomerNamed("Fred");
+        Customer bill = this.company.getCustomerNamed("Bill");
+
+        Assert.assertEquals(Lists.mutable.with(fred, bill), this.company.getCustomersInCity("London"));
+        Assert.assertEquals(Lists.mutable.with(fred, bill), this.company.getCustomersByCity().get("London"));
+        Assert.assertEquals(1, this.company.countCustomersInCity("Liphook"));
+        Assert.assertEquals(0, this.company.countCustomersInCity("Leeds"));
+        Assert.assertTrue(this.company.anyCustomerInCity("London"));
+        Assert.assertFalse(this.company.anyCustomerInCity("Leeds"));
+    }
+
+    @Test
+    public void suppliers()
+    {
+        Supplier[] suppliers = this.company.getSuppliers();
+        Assert.assertEquals(7, suppliers.length);
+        Assert.assertEquals("Doxins", suppliers[6].getName());
+        Assert.assertNotSame(suppliers, this.company.getSuppliers());
+
+        suppliers[6] = null;
+        Assert.assertEquals("Doxins", this.company.getSuppliers()[6].getName());
+
+        this.company.addSupplier(new Supplier("Toasty", new String[]{"sandwich toaster", "sandwich toaster"}));
+        Assert.assertEquals(8, this.company.getSuppliers().length);
+        Assert.assertEquals(2, this.company.getSuppliersOf("sandwich toaster").size());
+    }
+
+    @Test
+    public void suppliersOfItem()
+    {
+        Assert.assertEquals(
+                Lists.mutable.with("Furniture Hamlet", "SFD"),
+                this.company.getSuppliersOf("sofa").collect(Supplier::getName));
+        Assert.assertEquals("Doxins", this.company.getSuppliersOf("sandwich toaster").getOnly().getName());
+        Assert.assertTrue(this.company.getSuppliersOf("spoon").isEmpty());
+        Assert.assertEquals(2, this.company.getSuppliersByItemName().get("chair").size());
+    }
+
+    @Test
+    public void totalOrderValuesByCity()
+    {
+        Assert.assertEquals(
+                this.company.getCustomers().sumByDouble(Customer::getCity, Customer::getTotalOrderValue),
+                this.company.getTotalOrderValuesByCity());
+
+        Order order = new Order();
+        this.company.getCustomerNamed("Mary").addOrder(order);
+        order.addLineItem(new LineItem("kettle", 43.0));
+        this.company.addCustomer(new Customer("Pete", "Leeds"));
+
+        Assert.assertEquals(900.0, this.company.getTotalOrderValuesByCity().get("Liphook"), 0.0);
+        Assert.assertEquals(0.0, this.company.getTotalOrderValuesByCity().getOrThrow("Leeds"), 0.0);
+    }
+
+    @Test
+    public void totalOrderValuesByItem()
+    {
+        Assert.assertEquals(
+                this.company.getCustomers()
+                        .flatCollect(Customer::getOrders)
+                        .flatCollect(Order::getLineItems)
+                        .sumByDouble(LineItem::getName, LineItem::getValue),
+                this.company.getTotalOrderValuesByItem());
+        Assert.assertEquals(12, this.company.getTotalOrderValuesByItemId().size());
+    }
+
+    @Test
+    public void renamedLineItemMovesBetweenItems()
+    {
+        Order maryOrder = this.company.getCustomerNamed("Mary").getOrders().get(0);
+        LineItem cat = maryOrder.getLineItems().get(0);
+        cat.setName("goldfish");
+
+        Assert.assertFalse(this.company.getTotalOrderValuesByItem().containsKey("cat"));
+        Assert.assertEquals(150.5, this.company.getTotalOrderValuesByItem().get("goldfish"), 0.0);
+        Assert.assertEquals(857.0, this.company.getTotalOrderValuesByCity().get("Liphook"), 0.0);
+    }
+
+    @Test
+    public void renamedMergedLineItemLeavesItsItem()
+    {
+        Order order = new Order();
+        this.company.getCustomerNamed("Mary").addOrder(order);
+        order.addLineItem("teapot", 12.0, 1);
+        order.addLineItem("teapot", 12.0, 2);
+        order.getLineItems().get(0).setName("kettle");
+
+        Assert.assertFalse(this.company.getTotalOrderValuesByItem().containsKey("teapot"));
+        Assert.assertEquals(36.0, this.company.getTotalOrderValuesByItem().get("kettle"), 0.0);
+    }
+
+    @Test
+    public void deliverOrdersTo()
+    {
+        Assert.assertEquals(4, this.company.deliverOrdersTo("London"));
+        Assert.assertEquals(0, this.company.deliverOrdersTo("London"));
+        Assert.assertTrue(this.company.getCustomerNamed("Fred").getOrders().get(0).isDelivered());
+        Assert.assertTrue(this.company.getCustomerNamed("Bill").getOrders().get(2).isDelivered());
+        Assert.assertFalse(this.company.getCustomerNamed("Mary").getOrders().get(0).isDelivered());
+        Assert.assertEquals(0, this.company.deliverOrdersTo("Paris"));
+    }
+
+    @Test
+    public void deliverOrders()
+    {
+        Assert.assertEquals(2, this.company.deliverOrders(order -> order.getValue() > 100.0));
+        this.company.getCustomerNamed("Mary").getOrders().get(0).deliver();
+        Assert.assertEquals(3, this.company.deliverOrders(order -> true));
+        Assert.assertEquals(0, this.company.deliverOrders(order -> true));
+    }
+
+    @Test
+    public void ordersWithTheSameNumberAreDeliveredSeparately()
+    {
+        Order fredOrder = this.company.getCustomerNamed("Fred").getOrders().get(0);
+        fredOrder.deliver();
+        Order.resetNextOrderNumber();
+        Order order = new Order();
+
+        Assert.assertEquals(fredOrder.getOrderNumber(), order.getOrderNumber());
+        Assert.assertTrue(fredOrder.isDelivered());
+        Assert.assertFalse(order.isDelivered());
+    }
+
+    @Test
+    public void fixedPointTotalsAreExactAtEveryLevel()
+    {
+        for (Company company : new Company[]{new Company("Serial"), Company.concurrent("Striped")})
+        {
+            Customer jane = new Customer("Jane", "Leeds");
+            Customer pete = new Customer("Pete", "Leeds");
+            company.addCustomer(jane);
+            company.addCustomer(pete);
+            for (int i = 0; i < 3; i++)
+            {
+                Order order = Order.fixedPoint();
+                (i == 1 ? pete : jane).addOrder(order);
+                order.addLineItem(new LineItem("saucer", 0.07));
+            }
+            Order merged = Order.fixedPoint();
+            jane.addOrder(merged);
+            for (int i = 0; i < 3; i++)
+            {
+                merged.addLineItem("cup", 0.07, 1);
+            }
+
+            Assert.assertNotEquals(0.21, 0.07 + 0.07 + 0.07, 0.0);
+            Assert.assertEquals(0.21, merged.getValue(), 0.0);
+            Assert.assertEquals(0.35, jane.getTotalOrderValue(), 0.0);
+            Assert.assertEquals(0.42, company.getTotalOrderValue(), 0.0);
+            Assert.assertEquals(0.42, company.getTotalOrderValuesByCity().get("Leeds"), 0.0);
+            Assert.assertEquals(0.21, company.getTotalOrderValuesByItem().get("saucer"), 0.0);
+            Assert.assertEquals(0.21, company.getTotalOrderValuesByItem().get("cup"), 0.0);
+            Assert.assertEquals(0.42, company.snapshot().getTotalOrderValue(), 0.0);
+        }
+    }
+
+    @Test
+    public void fixedPointTotalsDoNotDependOnTheInsertionOrder()
+    {
+        double[] prices = {0.1, 0.2, 0.3};
+        Assert.assertNotEquals((prices[0] + prices[1]) + prices[2], (prices[2] + prices[1]) + prices[0], 0.0);
+        for (boolean concurrent : new boolean[]{false, true})
+        {
+            Company forwards = CompanyTest.fixedPointCompany(concurrent, prices[0], prices[1], prices[2]);
+            Company backwards = CompanyTest.fixedPointCompany(concurrent, prices[2], prices[1], prices[0]);
+
+            Assert.assertEquals(0.6, forwards.getTotalOrderValue(), 0.0);
+            Assert.assertEquals(0.6, backwards.getTotalOrderValue(), 0.0);
+            Assert.assertEquals(0.6, forwards.getCustomerNamed("Jane").getTotalOrderValue(), 0.0);
+            Assert.assertEquals(0.6, backwards.getCustomerNamed("Jane").getTotalOrderValue(), 0.0);
+            Assert.assertEquals(0.6, forwards.getTotalOrderValuesByCity().get("Leeds"), 0.0);
+            Assert.assertEquals(forwards.getTotalOrderValuesByCity(), backwards.getTotalOrderValuesByCity());
+            Assert.assertEquals(0.6, forwards.getTotalOrderValuesByItem().get("cup"), 0.0);
+            Assert.assertEquals(forwards.getTotalOrderValuesByItem(), backwards.getTotalOrderValuesByItem());
+        }
+    }
+
+    private static Company fixedPointCompany(boolean concurrent, double... prices)
+    {
+        Company company = concurrent ? Company.concurrent("Cups") : new Company("Cups");
+        Customer jane = new Customer("Jane", "Leeds");
+        company.addCustomer(jane);
+        for (double price : prices)
+        {
+            Order order = Order.fixedPoint();
+            order.addLineItem(new LineItem("cup", price));
+            jane.addOrder(order);
+        }
+        return company;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+import org.eclipse.collections.impl.utility.Iterate;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentCompanyTest
+{
+    private static final int WRITERS = 16;
+    private static final int ORDERS_PER_WRITER = 2_000;
+    private static final String[] CITIES = {"London", "Liphook", "Leeds", "York"};
+    private static final String[] ITEMS = {"shed", "cup", "saucer", "gnome", "sofa", "table", "chair"};
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentWritersCountEveryLineItemOnce() throws Exception
+    {
+        Company company = Company.concurrent("Big Shed Supplies");
+        MutableList<Customer> customers = Lists.mutable.empty();
+        for (int i = 0; i < 64; i++)
+        {
+            Customer customer = new Customer("Customer " + i, CITIES[i % CITIES.length]);
+            customers.add(customer);
+            if (i < 32)
+            {
+                company.addCustomer(customer);
+            }
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Future<?> reader = this.executor.submit(() ->
+        {
+            while (writing.get())
+            {
+                company.forEachCustomer(customer -> customer.forEachOrder(Order::getValue));
+                company.getTotalOrderValuesByCity();
+                company.getCustomersInCity("London");
+                company.ordersView().count(order -> order.getValue() > 10.0);
+                Iterate.sumOfDouble(company.ordersView(), Order::getValue);
+            }
+        });
+        MutableList<Future<?>> writers = Lists.mutable.empty();
+        for (int writer = 0; writer < WRITERS; writer++)
+        {
+            int seed = writer;
+            writers.add(this.executor.submit(() ->
+            {
+                start.await();
+                for (int i = 0; i < ORDERS_PER_WRITER; i++)
+                {
+                    if (seed == 0 && i % 50 == 0 && i / 50 < 32)
+                    {
+                        company.addCustomer(customers.get(32 + i / 50));
+                    }
+                    Order order = (i & 1) == 0 ? new Order() : Order.columnar();
+                    order.addLineItem(new LineItem(ITEMS[(seed + i) % ITEMS.length], (i % 97) * 0.25));
+                    customers.get((seed * 31 + i) % customers.size()).addOrder(order);
+                    order.addLineItem(new LineItem(ITEMS[i % ITEMS.length], 1.5));
+                    order.addLineItem(new LineItem(ITEMS[(i * 3) % ITEMS.length], seed * 0.5));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : writers)
+        {
+            future.get(60L, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        reader.get(60L, TimeUnit.SECONDS);
+
+        Assert.assertEquals(64, company.getCustomers().size());
+        Assert.assertEquals(WRITERS * ORDERS_PER_WRITER, company.ordersView().size());
+        Assert.assertEquals(WRITERS * ORDERS_PER_WRITER, company.getOrders().size());
+        MutableObjectDoubleMap<String> expectedByCity = ObjectDoubleHashMap.newMap();
+        MutableObjectDoubleMap<String> expectedByItem = ObjectDoubleHashMap.newMap();
+        double expectedTotal = 0.0;
+        int lineCount = 0;
+        for (Customer customer : customers)
+        {
+            double customerTotal = 0.0;
+            for (Order order : customer.getOrders())
+            {
+                for (LineItem lineItem : order.getLineItems())
+                {
+                    customerTotal += lineItem.getValue();
+                    lineCount++;
+                    expectedByItem.addToValue(lineItem.getName(), lineItem.getValue());
+                }
+            }
+            Assert.assertEquals(customerTotal, customer.getTotalOrderValue(), 0.0);
+            expectedByCity.addToValue(customer.getCity(), customerTotal);
+            expectedTotal += customerTotal;
+        }
+        Assert.assertEquals(WRITERS * ORDERS_PER_WRITER * 3, lineCount);
+        Assert.assertEquals(expectedTotal, company.getTotalOrderValue(), 0.0);
+        Assert.assertEquals(expectedByCity, company.getTotalOrderValuesByCity());
+        Assert.assertEquals(expectedByItem, company.getTotalOrderValuesByItem());
+    }
+
+    @Test
+    public void cityLookupsReturnCopies()
+    {
+        Company company = Company.concurrent("Shed Supplies");
+        Customer fred = new Customer("Fred", "London");
+        company.addCustomer(fred);
+        MutableList<Customer> london = company.getCustomersInCity("London");
+        company.addCustomer(new Customer("Bill", "London"));
+        Assert.assertEquals(Lists.mutable.with(fred), london);
+        Assert.assertEquals(2, company.countCustomersInCity("London"));
+        Assert.assertEquals(2, company.getCustomersByCity().get("London").size());
+        Assert.assertSame(fred, company.getCustomerNamed("Fred"));
+        Assert.assertTrue(company.anyCustomerInCity("London"));
+        Assert.assertFalse(company.anyCustomerInCity("Paris"));
+    }
+
+    @Test
+    public void suppliersCanBeAddedWhileOthersAreRead() throws Exception
+    {
+        Company company = Company.concurrent("Shed Supplies");
+        CountDownLatch start = new CountDownLatch(1);
+        MutableList<Future<?>> writers = Lists.mutable.empty();
+        for (int writer = 0; writer < WRITERS; writer++)
+        {
+            int seed = writer;
+            writers.add(this.executor.submit(() ->
+            {
+                start.await();
+                for (int i = 0; i < 200; i++)
+                {
+                    String[] itemNames = {ITEMS[i % ITEMS.length]};
+                    company.addSupplier(new Supplier("Supplier " + seed + "/" + i, itemNames));
+                    Supplier[] suppliers = company.getSuppliers();
+                    Assert.assertFalse(ArrayIterate.contains(suppliers, null));
+                    suppliers[0] = null;
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : writers)
+        {
+            future.get(60L, TimeUnit.SECONDS);
+        }
+
+        Assert.assertEquals(WRITERS * 200, company.getSuppliers().length);
+        Assert.assertFalse(ArrayIterate.contains(company.getSuppliers(), null));
+        Assert.assertEquals(WRITERS * 200, company.getSuppliersByItemName().size());
+    }
+}
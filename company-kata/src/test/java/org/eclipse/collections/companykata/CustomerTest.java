@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CustomerTest extends CompanyDomainForKata
+{
+    @Test
+    public void totalOrderValue()
+    {
+        Assert.assertEquals(71.0, this.company.getCustomers().get(0).getTotalOrderValue(), 0.0);
+        Assert.assertEquals(857.0, this.company.getCustomers().get(1).getTotalOrderValue(), 0.0);
+        Assert.assertEquals(375.25, this.company.getCustomers().get(2).getTotalOrderValue(), 0.0);
+    }
+
+    @Test
+    public void totalOrderValueFollowsLineItemsAddedAfterTheOrder()
+    {
+        Customer customer = new Customer("Pete", "Liphook");
+        Order order = Order.columnar();
+        customer.addOrder(order);
+        order.addLineItem(new LineItem("kettle", 20.0));
+        order.addLineItem(new LineItem("sofa", 120.0));
+
+        Assert.assertEquals(140.0, order.getValue(), 0.0);
+        Assert.assertEquals(140.0, customer.getTotalOrderValue(), 0.0);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.map.primitive.IntDoubleMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ItemCatalogTest extends CompanyDomainForKata
+{
+    private final ItemCatalog catalog = ItemCatalog.getInstance();
+
+    @Test
+    public void idsAreSharedBySuppliersAndLineItems()
+    {
+        int sofa = this.catalog.getId("sofa");
+        Assert.assertEquals(sofa, this.catalog.getId("sofa"));
+        Assert.assertEquals("sofa", this.catalog.getName(sofa));
+        Assert.assertTrue(this.company.getSuppliers()[5].getItemIds().contains(sofa));
+        Assert.assertEquals(sofa, new LineItem("sofa", 120.0).getItemId());
+        Assert.assertArrayEquals(new String[]{"sofa", "chair"}, this.company.getSuppliers()[5].getItemNames());
+    }
+
+    @Test
+    public void indexOfDoesNotAddNames()
+    {
+        int size = this.catalog.size();
+        Assert.assertEquals(-1, this.catalog.indexOf("never ordered"));
+        Assert.assertEquals(size, this.catalog.size());
+    }
+
+    @Test
+    public void nullItemNames()
+    {
+        int nullId = this.catalog.getId(null);
+        Assert.assertEquals(nullId, this.catalog.getId(null));
+        Assert.assertEquals(nullId, this.catalog.indexOf(null));
+        Assert.assertNull(this.catalog.getName(nullId));
+        Assert.assertNotEquals(nullId, this.catalog.getId(""));
+        Assert.assertNotEquals(nullId, this.catalog.getId("null"));
+
+        LineItem lineItem = new LineItem(null, 2.5);
+        Assert.assertNull(lineItem.getName());
+        Assert.assertEquals(nullId, lineItem.getItemId());
+        String[] itemNames = {null, "sofa"};
+        Assert.assertArrayEquals(itemNames, new Supplier("Nameless", itemNames).getItemNames());
+    }
+
+    @Test
+    public void valuesByItemId()
+    {
+        Order billOrder = this.company.getCustomerNamed("Bill").getOrders().get(0);
+        IntDoubleMap valuesByItemId = billOrder.getValuesByItemId();
+
+        Assert.assertEquals(2, valuesByItemId.size());
+        Assert.assertEquals(322.5, valuesByItemId.get(this.catalog.getId("gnome")), 0.0);
+        Assert.assertEquals(50.0, billOrder.getValuesByItem().get("shed"), 0.0);
+    }
+}
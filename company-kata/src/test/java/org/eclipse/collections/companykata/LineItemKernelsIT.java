@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Runs {@link LineItemKernels} from the multi-release jar built by the java21 profile, on a JVM with the
+ * jdk.incubator.vector module added, and checks the vector reductions against {@link ScalarLineItemKernels}. The
+ * prices are multiples of a quarter, so the sums are exact in whatever order they are added up.
+ */
+public class LineItemKernelsIT
+{
+    private static final int[] COUNTS = {0, 1, 2, 3, 7, 8, 9, 15, 16, 17, 31, 64, 100, 1_001, 100_000};
+
+    @Test
+    public void vectorKernelsAreUsed()
+    {
+        Assert.assertTrue(LineItemKernels.isVectorized());
+    }
+
+    @Test
+    public void vectorKernelsMatchTheLoops()
+    {
+        Random random = new Random(42L);
+        for (int count : COUNTS)
+        {
+            int length = count + random.nextInt(5);
+            double[] prices = new double[length];
+            int[] quantities = new int[length];
+            int[] itemIds = new int[length];
+            for (int i = 0; i < length; i++)
+            {
+                prices[i] = (random.nextInt(4_000) - 1_000) * 0.25;
+                quantities[i] = 1 + random.nextInt(9);
+                itemIds[i] = random.nextInt(5);
+            }
+            String message = "count " + count;
+            Assert.assertEquals(
+                    message,
+                    ScalarLineItemKernels.sum(prices, count),
+                    LineItemKernels.sum(prices, count),
+                    0.0);
+            Assert.assertEquals(
+                    message,
+                    ScalarLineItemKernels.sumOfProducts(prices, quantities, count),
+                    LineItemKernels.sumOfProducts(prices, quantities, count),
+                    0.0);
+            for (int itemId = 0; itemId < 6; itemId++)
+            {
+                Assert.assertEquals(
+                        message,
+                        ScalarLineItemKernels.sumWhere(itemIds, itemId, prices, quantities, count),
+                        LineItemKernels.sumWhere(itemIds, itemId, prices, quantities, count),
+                        0.0);
+                Assert.assertEquals(
+                        message,
+                        ScalarLineItemKernels.sumWhere(itemIds, itemId, prices, null, count),
+                        LineItemKernels.sumWhere(itemIds, itemId, prices, null, count),
+                        0.0);
+            }
+            if (count > 0)
+            {
+                Assert.assertEquals(
+                        message,
+                        ScalarLineItemKernels.min(prices, count),
+                        LineItemKernels.min(prices, count),
+                        0.0);
+                Assert.assertEquals(
+                        message,
+                        ScalarLineItemKernels.max(prices, count),
+                        LineItemKernels.max(prices, count),
+                        0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OffHeapOrderTest
+{
+    private static final String[] ITEMS = {"shed", "cup", "saucer", "gnome", "sofa", "table", "chair"};
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static void addLineItems(Order order, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            order.addLineItem(new LineItem(ITEMS[i % ITEMS.length], (i % 13) * 0.5));
+        }
+    }
+
+    private static void assertSameLineItems(Order expected, Order actual)
+    {
+        Assert.assertEquals(expected.getValue(), actual.getValue(), 0.0);
+        Assert.assertEquals(expected.getValuesByItem(), actual.getValuesByItem());
+        Assert.assertEquals(expected.getValueOf("gnome"), actual.getValueOf("gnome"), 0.0);
+        List<LineItem> expectedLineItems = expected.getLineItems();
+        List<LineItem> actualLineItems = actual.getLineItems();
+        Assert.assertEquals(expectedLineItems.size(), actualLineItems.size());
+        for (int i = 0; i < expectedLineItems.size(); i += 97)
+        {
+            Assert.assertEquals(expectedLineItems.get(i).toString(), actualLineItems.get(i).toString());
+        }
+    }
+
+    @Test
+    public void offHeapOrderMatchesObjectOrderAcrossChunks()
+    {
+        LineItemArena arena = LineItemArena.offHeap();
+        for (int count : new int[]{0, 1, 8, 9, 24, 25, 100_000})
+        {
+            Order objectOrder = new Order();
+            Order offHeapOrder = Order.offHeap(arena);
+            addLineItems(objectOrder, count);
+            addLineItems(offHeapOrder, count);
+            assertSameLineItems(objectOrder, offHeapOrder);
+        }
+    }
+
+    @Test
+    public void mappedOrderMatchesObjectOrder() throws IOException
+    {
+        try (LineItemArena arena = LineItemArena.mapped(this.folder.newFile("line-items.bin").toPath()))
+        {
+            Order objectOrder = new Order();
+            Order mappedOrder = Order.offHeap(arena);
+            addLineItems(objectOrder, 5_000);
+            addLineItems(mappedOrder, 5_000);
+            assertSameLineItems(objectOrder, mappedOrder);
+            Assert.assertEquals(LineItemArena.SEGMENT_SIZE, arena.getReservedBytes());
+        }
+    }
+
+    @Test
+    public void renamingOffHeapLineItemUpdatesCustomerAndCompany()
+    {
+        Company company = new Company("Shed Supplies");
+        Customer customer = new Customer("Fred", "London");
+        company.addCustomer(customer);
+        Order order = Order.offHeap(LineItemArena.offHeap());
+        customer.addOrder(order);
+        order.addLineItem(new LineItem("shed", 50.0));
+        order.addLineItem(new LineItem("cup", 1.5));
+
+        order.getLineItems().get(0).setName("big shed");
+
+        Assert.assertEquals(50.0, order.getValueOf("big shed"), 0.0);
+        Assert.assertEquals(0.0, order.getValueOf("shed"), 0.0);
+        Assert.assertEquals(51.5, customer.getTotalOrderValue(), 0.0);
+        Assert.assertEquals(50.0, company.getTotalOrderValuesByItem().get("big shed"), 0.0);
+        Assert.assertFalse(company.getTotalOrderValuesByItem().containsKey("shed"));
+    }
+
+    @Test
+    public void snapshotReadsOffHeapPrefix()
+    {
+        Company company = new Company("Shed Supplies");
+        Customer customer = new Customer("Fred", "London");
+        company.addCustomer(customer);
+        Order order = Order.offHeap(LineItemArena.offHeap());
+        customer.addOrder(order);
+        addLineItems(order, 20);
+        CompanySnapshot snapshot = company.snapshot();
+        addLineItems(order, 20);
+
+        Assert.assertEquals(20, snapshot.getLineItemsOf(order).size());
+        Assert.assertEquals(order.getValue() / 2.0, snapshot.getValueOf(order), 0.0);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OrderFeedLoaderTest extends CompanyDomainForKata
+{
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdownNow();
+    }
+
+    private static ReadableByteChannel feed(String text)
+    {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void load() throws IOException
+    {
+        String text = "# customer,city,order,item,value\n"
+                + "Fred,London,7,shed,50\n"
+                + "Fred,London,7,cup,1.5\r\n"
+                + "\n"
+                + "Jane,Leeds,1,gnome,7.25\n"
+                + "Jane,Leeds,2,gnome,-0.125\n"
+                + "Fred,London,8,kettle,1e2";
+        long lineCount = new OrderFeedLoader(this.company, this.executor).load(feed(text));
+
+        Assert.assertEquals(5L, lineCount);
+        Customer fred = this.company.getCustomerNamed("Fred");
+        Assert.assertEquals(3, fred.getOrders().size());
+        Assert.assertEquals(51.5, fred.getOrders().get(1).getValue(), 0.0);
+        Assert.assertEquals("cup", fred.getOrders().get(1).getLineItems().get(1).getName());
+        Assert.assertEquals(100.0, fred.getOrders().get(2).getValue(), 0.0);
+        Assert.assertEquals(222.5, fred.getTotalOrderValue(), 0.0);
+
+        Customer jane = this.company.getCustomerNamed("Jane");
+        Assert.assertEquals("Leeds", jane.getCity());
+        Assert.assertEquals(2, jane.getOrders().size());
+        Assert.assertEquals(7.125, jane.getTotalOrderValue(), 0.0);
+        Assert.assertEquals(7.125, this.company.getTotalOrderValuesByCity().get("Leeds"), 0.0);
+        Assert.assertEquals(1303.25 + 151.5 + 7.125, this.company.getTotalOrderValue(), 0.0);
+    }
+
+    @Test
+    public void loadWithMoreBatchesThanFitInFlight() throws IOException
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10_000; i++)
+        {
+            int order = i / 3;
+            text.append("Customer ").append(order % 100).append(",City ").append(order % 100 % 7)
+                    .append(',').append(order).append(",item ").append(i % 13).append(",0.25\n");
+        }
+        Company company = new Company("Feed Supplies");
+        long lineCount = new OrderFeedLoader(company, this.executor, 16, 2, Order::new).load(feed(text.toString()));
+
+        Assert.assertEquals(10_000L, lineCount);
+        Assert.assertEquals(100, company.getCustomers().size());
+        Assert.assertEquals(3334, company.getCustomers().sumOfInt(customer -> customer.getOrders().size()));
+        Assert.assertEquals(2500.0, company.getTotalOrderValue(), 0.0);
+        Assert.assertEquals(2500.0, company.getTotalOrderValuesByItemId().sum(), 0.0);
+    }
+
+    @Test
+    public void longValuesAreParsedLikeParseDouble() throws IOException
+    {
+        String[] values = {
+                "0.12345678901234567", "123456789.01234567", "0.9007199254740993", "-0.9007199254740993",
+                "999999999999999", "0.123456789012345", "1234567890.12345678"};
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < values.length; i++)
+        {
+            text.append("Jane,Leeds,").append(i).append(",gnome,").append(values[i]).append('\n');
+        }
+        new OrderFeedLoader(this.company, this.executor).load(feed(text.toString()));
+
+        Customer jane = this.company.getCustomerNamed("Jane");
+        for (int i = 0; i < values.length; i++)
+        {
+            Assert.assertEquals(values[i], Double.parseDouble(values[i]), jane.getOrders().get(i).getValue(), 0.0);
+        }
+    }
+
+    @Test
+    public void loadLinesLongerThanTheBuffer() throws IOException
+    {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 100_000; i++)
+        {
+            name.append((char) ('a' + i % 26));
+        }
+        String text = name + ",Leeds,1,shed,12.5\n" + name + ",Leeds,1,cup,0.5\n";
+        Assert.assertEquals(2L, new OrderFeedLoader(this.company, this.executor).load(feed(text)));
+        Assert.assertEquals(13.0, this.company.getCustomerNamed(name.toString()).getTotalOrderValue(), 0.0);
+    }
+
+    @Test
+    public void rejectMalformedLines()
+    {
+        String text = "Jane,Leeds,1,gnome,7.25\nJane,Leeds,1,gnome\n";
+        try
+        {
+            new OrderFeedLoader(this.company, this.executor).load(feed(text));
+            Assert.fail();
+        }
+        catch (IOException e)
+        {
+            Assert.assertEquals("Malformed order feed line 2: expected 5 fields", e.getMessage());
+        }
+        try
+        {
+            new OrderFeedLoader(this.company, this.executor).load(feed("Jane,Leeds,1,gnome,lots\n"));
+            Assert.fail();
+        }
+        catch (IOException e)
+        {
+            Assert.assertEquals("Malformed order feed line 1: invalid value", e.getMessage());
+        }
+        Assert.assertNull(this.company.getCustomerNamed("Jane"));
+    }
+
+    @Test
+    public void ordersBeforeAMalformedLineAreAddedWhenItIsReported()
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1_000; i++)
+        {
+            text.append("Jane,Leeds,").append(i).append(",gnome,0.5\n");
+        }
+        text.append("Jane,Leeds,1000,gnome\n");
+        try
+        {
+            new OrderFeedLoader(this.company, this.executor, 16, 2, Order::new).load(feed(text.toString()));
+            Assert.fail();
+        }
+        catch (IOException e)
+        {
+            Assert.assertEquals("Malformed order feed line 1001: expected 5 fields", e.getMessage());
+        }
+        // the batch with the malformed line is dropped, the 62 batches of 16 orders before it are all added
+        Customer jane = this.company.getCustomerNamed("Jane");
+        Assert.assertEquals(992, jane.getOrders().size());
+        Assert.assertEquals(496.0, jane.getTotalOrderValue(), 0.0);
+    }
+
+    @Test
+    public void errorWhileAddingOrdersDoesNotBlockTheParser()
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1_000; i++)
+        {
+            text.append("Jane,Leeds,").append(i).append(",gnome,0.5\n");
+        }
+        OrderFeedLoader loader = new OrderFeedLoader(this.company, this.executor, 16, 2, () ->
+        {
+            throw new AssertionError("no more orders");
+        });
+        try
+        {
+            loader.load(feed(text.toString()));
+            Assert.fail();
+        }
+        catch (IOException e)
+        {
+            Assert.assertEquals("no more orders", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void errorWhileAddingOrdersStopsReadingTheFeed()
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100_000; i++)
+        {
+            text.append("Jane,Leeds,").append(i).append(",gnome,0.5\n");
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        AtomicLong bytesRead = new AtomicLong();
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(bytes)
+        {
+            @Override
+            public synchronized int read(byte[] b, int off, int len)
+            {
+                int read = super.read(b, off, len);
+                bytesRead.addAndGet(Math.max(read, 0));
+                return read;
+            }
+        });
+        OrderFeedLoader loader = new OrderFeedLoader(this.company, this.executor, 16, 2, () ->
+        {
+            throw new IllegalStateException("no more orders");
+        });
+        try
+        {
+            loader.load(channel);
+            Assert.fail();
+        }
+        catch (IOException e)
+        {
+            Assert.assertEquals("no more orders", e.getCause().getMessage());
+        }
+        Assert.assertTrue(bytesRead.get() + " of " + bytes.length + " bytes read", bytesRead.get() < bytes.length / 4);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OrderNumberAllocatorTest
+{
+    @Test
+    public void numbersAreSequentialOnOneThreadAfterReset()
+    {
+        Order.resetNextOrderNumber();
+        Assert.assertEquals(1, new Order().getOrderNumber());
+        Assert.assertEquals(2, new Order().getOrderNumber());
+
+        Order.resetNextOrderNumber();
+        Assert.assertEquals(1, new Order().getOrderNumber());
+    }
+
+    @Test
+    public void numbersAreUniqueAcrossThreads() throws Exception
+    {
+        int threads = 8;
+        int numbersPerThread = 10 * OrderNumberAllocator.BLOCK_SIZE + 7;
+        OrderNumberAllocator allocator = new OrderNumberAllocator();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            MutableList<Future<int[]>> futures = FastList.newList();
+            for (int i = 0; i < threads; i++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    int[] numbers = new int[numbersPerThread];
+                    for (int j = 0; j < numbersPerThread; j++)
+                    {
+                        numbers[j] = allocator.next();
+                    }
+                    return numbers;
+                }));
+            }
+            MutableIntSet allNumbers = new IntHashSet();
+            for (Future<int[]> future : futures)
+            {
+                allNumbers.addAll(future.get());
+            }
+            Assert.assertEquals(threads * numbersPerThread, allNumbers.size());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
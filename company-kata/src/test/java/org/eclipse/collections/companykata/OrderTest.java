@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.List;
+
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OrderTest
+{
+    private static Order withLineItems(Order order)
+    {
+        order.addLineItem(new LineItem("shed", 50.0));
+        for (int i = 0; i < 20; i++)
+        {
+            order.addLineItem(new LineItem("cup", 1.5));
+            order.addLineItem(new LineItem("saucer", 1.0));
+        }
+        order.addLineItem(new LineItem("chair", 12.50));
+        return order;
+    }
+
+    @Test
+    public void columnarOrderHasSameValueAsObjectOrder()
+    {
+        Order objectOrder = withLineItems(new Order());
+        Order columnarOrder = withLineItems(Order.columnar());
+
+        Assert.assertEquals(112.5, objectOrder.getValue(), 0.0);
+        Assert.assertEquals(objectOrder.getValue(), columnarOrder.getValue(), 0.0);
+        Assert.assertEquals(30.0, columnarOrder.getValueOf("cup"), 0.0);
+        Assert.assertEquals(0.0, columnarOrder.getValueOf("gnome"), 0.0);
+    }
+
+    @Test
+    public void columnarValuesByItem()
+    {
+        ObjectDoubleMap<String> valuesByItem = withLineItems(Order.columnar()).getValuesByItem();
+
+        Assert.assertEquals(withLineItems(new Order()).getValuesByItem(), valuesByItem);
+        Assert.assertEquals(4, valuesByItem.size());
+        Assert.assertEquals(20.0, valuesByItem.get("saucer"), 0.0);
+    }
+
+    @Test
+    public void columnarLineItemsView()
+    {
+        List<LineItem> lineItems = withLineItems(Order.columnar()).getLineItems();
+
+        Assert.assertEquals(42, lineItems.size());
+        Assert.assertEquals("shed", lineItems.get(0).getName());
+        Assert.assertEquals(12.5, lineItems.get(41).getValue(), 0.0);
+    }
+
+    @Test
+    public void renamingColumnarLineItemUpdatesOrder()
+    {
+        Order order = withLineItems(Order.columnar());
+        order.getLineItems().get(0).setName("big shed");
+
+        Assert.assertEquals(0.0, order.getValueOf("shed"), 0.0);
+        Assert.assertEquals(50.0, order.getValueOf("big shed"), 0.0);
+        Assert.assertEquals("big shed", order.getLineItems().get(0).getName());
+        Assert.assertEquals(112.5, order.getValue(), 0.0);
+    }
+
+    @Test
+    public void repeatedItemsAreMergedIntoOneLine()
+    {
+        for (Order order : new Order[]{new Order(), Order.columnar(), Order.offHeap(LineItemArena.offHeap())})
+        {
+            order.addLineItem("shed", 50.0, 1);
+            for (int i = 0; i < 43; i++)
+            {
+                order.addLineItem("gnome", 7.5, 1);
+            }
+            order.addLineItem("gnome", 7.5, 2);
+            order.addLineItem("gnome", 8.0, 1);
+            order.addLineItem("cup", 1.5, 3);
+
+            List<LineItem> lineItems = order.getLineItems();
+            Assert.assertEquals(4, lineItems.size());
+            Assert.assertEquals(45, lineItems.get(1).getQuantity());
+            Assert.assertEquals("45 x gnome $ 7.5", lineItems.get(1).toString());
+            Assert.assertEquals(50.0 + 45 * 7.5 + 8.0 + 4.5, order.getValue(), 0.0);
+            Assert.assertEquals(45 * 7.5 + 8.0, order.getValueOf("gnome"), 0.0);
+            Assert.assertEquals(4.5, order.getValuesByItem().get("cup"), 0.0);
+        }
+    }
+
+    @Test
+    public void lineItemsAddedAsObjectsAreNotMerged()
+    {
+        Order order = Order.columnar();
+        order.addLineItem(new LineItem("cup", 1.5, 2));
+        order.addLineItem(new LineItem("cup", 1.5));
+
+        Assert.assertEquals(2, order.getLineItems().size());
+        Assert.assertEquals(4.5, order.getValue(), 0.0);
+    }
+
+    @Test
+    public void renamingLineWithQuantityUpdatesOrder()
+    {
+        Order order = Order.columnar();
+        order.addLineItem("cup", 1.5, 1);
+        order.addLineItem("cup", 1.5, 3);
+        order.getLineItems().get(0).setName("saucer");
+
+        Assert.assertEquals(0.0, order.getValueOf("cup"), 0.0);
+        Assert.assertEquals(6.0, order.getValueOf("saucer"), 0.0);
+        Assert.assertEquals(6.0, order.getValue(), 0.0);
+    }
+
+    @Test
+    public void mergingLeavesTheAddedLineItemUnchanged()
+    {
+        Order order = new Order();
+        LineItem cup = new LineItem("cup", 1.5);
+        order.addLineItem(cup);
+        order.addLineItem("cup", 1.5, 2);
+
+        Assert.assertEquals(1, cup.getQuantity());
+        Assert.assertEquals(3, order.getLineItems().get(0).getQuantity());
+        Assert.assertEquals(4.5, order.getValue(), 0.0);
+
+        cup.setName("saucer");
+        Assert.assertEquals(4.5, order.getValueOf("cup"), 0.0);
+        Assert.assertEquals(0.0, order.getValueOf("saucer"), 0.0);
+    }
+
+    @Test
+    public void lineItemsCanOnlyBeAddedThroughTheOrder()
+    {
+        for (Order order : new Order[]{new Order(), Order.columnar(), Order.fixedPoint()})
+        {
+            order.addLineItem(new LineItem("cup", 1.5));
+            try
+            {
+                order.getLineItems().add(new LineItem("cup", 1.5));
+                Assert.fail();
+            }
+            catch (UnsupportedOperationException e)
+            {
+                Assert.assertEquals(1, order.getLineItems().size());
+                Assert.assertEquals(1.5, order.getValue(), 0.0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void quantityMustBePositive()
+    {
+        new Order().addLineItem("cup", 1.5, 0);
+    }
+
+    @Test
+    public void fixedPointOrderAddsCentsExactly()
+    {
+        Order doubleOrder = Order.columnar();
+        Order fixedPointOrder = Order.fixedPoint();
+        for (int i = 0; i < 10; i++)
+        {
+            doubleOrder.addLineItem(new LineItem("cup", 0.1));
+            fixedPointOrder.addLineItem(new LineItem("cup", 0.1));
+        }
+        fixedPointOrder.addLineItem("saucer", 0.07, 3);
+
+        Assert.assertNotEquals(1.0, doubleOrder.getValue(), 0.0);
+        Assert.assertEquals(1.21, fixedPointOrder.getValue(), 0.0);
+        Assert.assertEquals(121L, fixedPointOrder.getValueInCents());
+        Assert.assertEquals(1.0, fixedPointOrder.getValueOf("cup"), 0.0);
+        Assert.assertEquals(0.21, fixedPointOrder.getValuesByItem().get("saucer"), 0.0);
+        Assert.assertEquals("3 x saucer $ 0.07", fixedPointOrder.getLineItems().get(10).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fixedPointPricesMustBeWholeCents()
+    {
+        Order.fixedPoint().addLineItem(new LineItem("cup", 1.505));
+    }
+
+    @Test
+    public void lowestAndHighestPrices()
+    {
+        for (Order order : new Order[]{new Order(), Order.columnar(), Order.fixedPoint()})
+        {
+            Assert.assertEquals(0.0, order.getHighestPrice(), 0.0);
+            withLineItems(order);
+            order.addLineItem("gnome", 7.5, 43);
+
+            Assert.assertEquals(1.0, order.getLowestPrice(), 0.0);
+            Assert.assertEquals(50.0, order.getHighestPrice(), 0.0);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TopCustomersTest extends CompanyDomainForKata
+{
+    @Test
+    public void topCustomersByValue()
+    {
+        Customer fred = this.company.getCustomerNamed("Fred");
+        Customer mary = this.company.getCustomerNamed("Mary");
+        Customer bill = this.company.getCustomerNamed("Bill");
+
+        Assert.assertEquals(Lists.mutable.with(mary, bill), this.company.topCustomersByValue(2));
+        Assert.assertEquals(Lists.mutable.with(mary, bill, fred), this.company.topCustomersByValue(100));
+    }
+
+    @Test
+    public void topCustomersOfLargeCompany()
+    {
+        Company company = new CompanyGenerator(3L, 50_000, 2, 3).generate();
+        MutableList<Customer> sorted = company.getCustomers()
+                .toSortedListBy(customer -> -customer.getTotalOrderValue());
+
+        MutableList<Customer> top = company.topCustomersByValue(100);
+        Assert.assertEquals(
+                sorted.take(100).collectDouble(Customer::getTotalOrderValue),
+                top.collectDouble(Customer::getTotalOrderValue));
+    }
+
+    @Test
+    public void trackTopCustomersByValue()
+    {
+        Customer fred = this.company.getCustomerNamed("Fred");
+        Customer mary = this.company.getCustomerNamed("Mary");
+        Customer bill = this.company.getCustomerNamed("Bill");
+        TopCustomersTracker tracker = this.company.trackTopCustomersByValue(2);
+        Assert.assertEquals(Lists.mutable.with(mary, bill), tracker.getTopCustomers());
+
+        Order order = new Order();
+        order.addLineItem(new LineItem("huge shed", 1000.0));
+        fred.addOrder(order);
+        Assert.assertEquals(Lists.mutable.with(fred, mary), tracker.getTopCustomers());
+
+        Customer jane = new Customer("Jane", "Leeds");
+        Order janeOrder = new Order();
+        janeOrder.addLineItem(new LineItem("big shed", 900.0));
+        jane.addOrder(janeOrder);
+        this.company.addCustomer(jane);
+        Assert.assertEquals(Lists.mutable.with(fred, jane), tracker.getTopCustomers());
+
+        // Jane drops out of the top two, so Mary has to be found again
+        janeOrder.addLineItem(new LineItem("refund", -800.0));
+        Assert.assertEquals(Lists.mutable.with(fred, mary), tracker.getTopCustomers());
+        order.addLineItem(new LineItem("refund", -1000.0));
+        Assert.assertEquals(Lists.mutable.with(mary, bill), tracker.getTopCustomers());
+    }
+
+    @Test
+    public void trackTopCustomersOfConcurrentCompany() throws InterruptedException
+    {
+        Company company = Company.concurrent("Concurrent Supplies");
+        Customer[] customers = new CompanyGenerator(5L, 2000, 1, 1).generateCustomers();
+        TopCustomersTracker tracker = company.trackTopCustomersByValue(10);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++)
+        {
+            int thread = i;
+            executor.execute(() ->
+            {
+                for (int j = thread; j < customers.length; j += 8)
+                {
+                    company.addCustomer(customers[j]);
+                    Order order = new Order();
+                    customers[j].addOrder(order);
+                    order.addLineItem(new LineItem("cup", j % 97));
+                    tracker.getTopCustomers();
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1L, TimeUnit.MINUTES));
+
+        Assert.assertEquals(
+                company.topCustomersByValue(10).collectDouble(Customer::getTotalOrderValue),
+                tracker.getTopCustomers().collectDouble(Customer::getTotalOrderValue));
+    }
+}
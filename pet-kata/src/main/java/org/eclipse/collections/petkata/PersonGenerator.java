@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.SplittableRandom;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.parallel.ParallelIterate;
+
+/**
+ * Generates populations of people and their pets for load tests. The same seed and size always give the same people,
+ * whatever the number of threads used.
+ * <p/>
+ * About a third of the people have no pet and the rest have one to four. Dogs and cats make up most of the pets,
+ * followed by birds, hamsters, turtles and snakes, and each type of pet has a plausible range of ages.
+ */
+public final class PersonGenerator
+{
+    private static final int CHUNK_SIZE = 4096;
+
+    private static final String[] FIRST_NAMES = {
+            "Mary", "Bob", "Ted", "Jake", "Barry", "Terry", "Harry", "John", "Alice", "Priya", "Wei", "Fatima",
+            "Carlos", "Olga", "Kenji", "Amara", "Liam", "Sofia", "Noah", "Emma"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Snake", "Bird", "Turtle", "Hamster", "Doe", "Jones", "Patel", "Chen", "Garcia", "Kowalski",
+            "Tanaka", "Okafor", "Murphy", "Rossi", "Novak", "Silva", "Kim", "Cohen", "Brown"};
+    private static final String[] PET_NAMES = {
+            "Tabby", "Dolly", "Spot", "Spike", "Serpy", "Tweety", "Speedy", "Fuzzy", "Wuzzy", "Rex", "Luna", "Max",
+            "Bella", "Charlie", "Coco", "Milo", "Nala", "Oscar", "Pepper", "Ziggy"};
+
+    // cumulative shares of the number of pets a person has, from 0 to 4
+    private static final double[] PET_COUNTS = {0.33, 0.73, 0.90, 0.97, 1.0};
+    // cumulative shares of the pet types, in the order of PET_TYPES, and the oldest age of each
+    private static final PetType[] PET_TYPES = {
+            PetType.DOG, PetType.CAT, PetType.BIRD, PetType.HAMSTER, PetType.TURTLE, PetType.SNAKE};
+    private static final double[] PET_TYPE_SHARES = {0.40, 0.73, 0.81, 0.89, 0.95, 1.0};
+    private static final int[] MAXIMUM_AGES = {15, 18, 10, 3, 30, 20};
+
+    private final long seed;
+    private final int personCount;
+
+    public PersonGenerator(long seed, int personCount)
+    {
+        if (personCount < 0)
+        {
+            throw new IllegalArgumentException("Invalid number of people " + personCount);
+        }
+        this.seed = seed;
+        this.personCount = personCount;
+    }
+
+    /**
+     * Returns a new list of the people, generated in parallel in chunks, each from its own random generator derived
+     * from the seed and the chunk.
+     */
+    public MutableList<Person> generate()
+    {
+        Person[] people = new Person[this.personCount];
+        int chunkCount = (this.personCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunkCount > 0)
+        {
+            ParallelIterate.forEach(
+                    Interval.zeroTo(chunkCount - 1),
+                    chunk -> this.generateChunk(chunk, people),
+                    1,
+                    Math.min(chunkCount, ParallelIterate.getDefaultTaskCount()));
+        }
+        return FastList.newListWith(people);
+    }
+
+    private void generateChunk(int chunk, Person[] people)
+    {
+        SplittableRandom random = new SplittableRandom(this.seed + chunk * 0x9E3779B97F4A7C15L);
+        int end = Math.min(people.length, (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++)
+        {
+            Person person = new Person(
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            int petCount = PersonGenerator.indexOf(PET_COUNTS, random.nextDouble());
+            for (int j = 0; j < petCount; j++)
+            {
+                int type = PersonGenerator.indexOf(PET_TYPE_SHARES, random.nextDouble());
+                person.addPet(
+                        PET_TYPES[type],
+                        PET_NAMES[random.nextInt(PET_NAMES.length)],
+                        1 + random.nextInt(MAXIMUM_AGES[type]));
+            }
+            people[i] = person;
+        }
+    }
+
+    private static int indexOf(double[] cumulativeShares, double value)
+    {
+        int index = 0;
+        while (value >= cumulativeShares[index] && index < cumulativeShares.length - 1)
+        {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PersonGeneratorTest
+{
+    @Test
+    public void generate()
+    {
+        MutableList<Person> people = new PersonGenerator(1L, 50_000).generate();
+        Assert.assertEquals(50_000, people.size());
+
+        int petPeople = people.count(Person::isPetPerson);
+        Assert.assertTrue(petPeople > 32_500 && petPeople < 34_500);
+        MutableBag<PetType> petTypes = people.flatCollect(Person::getPets).countBy(Pet::getType);
+        Assert.assertTrue(petTypes.occurrencesOf(PetType.DOG) > petTypes.occurrencesOf(PetType.CAT));
+        Assert.assertTrue(petTypes.occurrencesOf(PetType.CAT) > petTypes.occurrencesOf(PetType.BIRD) * 3);
+        Assert.assertTrue(petTypes.occurrencesOf(PetType.SNAKE) > 0);
+        Assert.assertTrue(people.flatCollect(Person::getPets)
+                .select(pet -> pet.getType() == PetType.HAMSTER)
+                .allSatisfy(pet -> pet.getAge() >= 1 && pet.getAge() <= 3));
+    }
+
+    @Test
+    public void sameSeedGivesSamePeople()
+    {
+        MutableList<Person> people = new PersonGenerator(42L, 10_000).generate();
+        MutableList<Person> samePeople = new PersonGenerator(42L, 10_000).generate();
+        MutableList<Person> otherPeople = new PersonGenerator(43L, 10_000).generate();
+
+        Assert.assertEquals(people.collect(Person::getPetTypes), samePeople.collect(Person::getPetTypes));
+        Assert.assertEquals(people.collect(Person::getFirstName), samePeople.collect(Person::getFirstName));
+        Assert.assertNotEquals(people.collect(Person::getPetTypes), otherPeople.collect(Person::getPetTypes));
+    }
+}